@@ -0,0 +1,40 @@
+package com.manage.recipe.benchmark;
+
+import com.manage.recipe.model.FoodCategory;
+import com.manage.recipe.model.dao.Ingredient;
+import com.manage.recipe.model.dao.Recipe;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Deterministic recipes shared by the benchmarks, the same seed gives the same catalog on every run.
+ */
+final class BenchmarkRecipes {
+    static final int INGREDIENT_VOCABULARY = 200;
+    private static final FoodCategory[] FOOD_CATEGORIES = FoodCategory.values();
+
+    private BenchmarkRecipes() {}
+
+    static List<Recipe> recipes(int count, boolean withIds) {
+        Random random = new Random(42);
+        List<Recipe> recipes = new ArrayList<>(count);
+        for (int position = 0; position < count; position++) {
+            List<Ingredient> ingredients = new ArrayList<>();
+            for (int ingredient = 0; ingredient < 3 + random.nextInt(6); ingredient++) {
+                ingredients.add(Ingredient.builder()
+                        .ingredientName("ingredient" + random.nextInt(INGREDIENT_VOCABULARY))
+                        .build());
+            }
+            recipes.add(Recipe.builder()
+                    .id(withIds ? (long) position + 1 : null)
+                    .name("recipe" + position)
+                    .foodCategory(FOOD_CATEGORIES[random.nextInt(FOOD_CATEGORIES.length)])
+                    .servings(1 + random.nextInt(8))
+                    .ingredients(ingredients)
+                    .instructions("Chop, stir and bake in the oven for " + random.nextInt(60) + " minutes")
+                    .build());
+        }
+        return recipes;
+    }
+}
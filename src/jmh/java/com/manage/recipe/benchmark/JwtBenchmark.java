@@ -0,0 +1,61 @@
+package com.manage.recipe.benchmark;
+
+import com.manage.recipe.service.JwtServiceImpl;
+import io.jsonwebtoken.Claims;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures token generation and validation of JwtServiceImpl, validation with and without the
+ * verified token cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtBenchmark {
+    private static final String SECRET =
+            "A31E8C6D5BF7E9A08C6D7E528A4F01B5E26C9D0F387E4A1B5C76D4E7A9081B5A3E28C76D7A08C6D5B7E9A0B4C76D8A4F012E5C6D9A";
+    private static final Map<String, Object> CLAIMS = Map.of("role", List.of("ROLE_ADMIN"));
+
+    private JwtServiceImpl cachingJwtService;
+    private JwtServiceImpl jwtService;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        cachingJwtService = new JwtServiceImpl(SECRET, Duration.ofMinutes(10), 10_000);
+        jwtService = new JwtServiceImpl(SECRET, Duration.ofMinutes(10), 0);
+        token = cachingJwtService.generateToken(CLAIMS, "admin");
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtService.generateToken(CLAIMS, "admin");
+    }
+
+    @Benchmark
+    public Optional<Claims> verifyToken() {
+        return jwtService.verifyToken(token);
+    }
+
+    @Benchmark
+    public Optional<Claims> verifyCachedToken() {
+        return cachingJwtService.verifyToken(token);
+    }
+}
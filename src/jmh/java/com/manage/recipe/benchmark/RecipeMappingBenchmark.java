@@ -0,0 +1,55 @@
+package com.manage.recipe.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.manage.recipe.model.dao.Recipe;
+import com.manage.recipe.model.dto.RecipeResponseDTO;
+import com.manage.recipe.util.RecipeModelMapper;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures RecipeModelMapper.mapToRecipeDTOlist and the Jackson serialization of its result.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RecipeMappingBenchmark {
+
+    @Param({"15", "100", "1000"})
+    public int listSize;
+
+    private final RecipeModelMapper recipeModelMapper = new RecipeModelMapper();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private List<Recipe> recipes;
+    private RecipeResponseDTO recipeResponseDTO;
+
+    @Setup
+    public void setUp() {
+        recipes = BenchmarkRecipes.recipes(listSize, true);
+        recipeResponseDTO = recipeModelMapper.mapToRecipeDTOlist(recipes);
+    }
+
+    @Benchmark
+    public RecipeResponseDTO mapToRecipeDTOlist() {
+        return recipeModelMapper.mapToRecipeDTOlist(recipes);
+    }
+
+    @Benchmark
+    public byte[] serializeRecipeResponse() throws Exception {
+        return objectMapper.writeValueAsBytes(recipeResponseDTO);
+    }
+}
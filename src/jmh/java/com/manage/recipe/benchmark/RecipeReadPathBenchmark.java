@@ -0,0 +1,114 @@
+package com.manage.recipe.benchmark;
+
+import com.manage.recipe.RecipeManagerApplication;
+import com.manage.recipe.model.dao.Recipe;
+import com.manage.recipe.model.dto.RecipeDTO;
+import com.manage.recipe.model.dto.RecipeResponseDTO;
+import com.manage.recipe.repository.RecipeRepository;
+import com.manage.recipe.util.RecipeCursor;
+import com.manage.recipe.util.RecipeModelMapper;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Compares reading a recipe by id and a search page through managed entities and RecipeModelMapper with
+ * reading them as RecipeView records, both in a read-only transaction against an in-memory H2 seeded with
+ * recipeCount recipes. Run it with the gc profiler to see the bytes allocated per read (gc.alloc.rate.norm):
+ * mvn -Pjmh verify -Djmh.args="RecipeReadPathBenchmark -prof gc -rf json -rff target/jmh-result.json"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RecipeReadPathBenchmark {
+
+    @Param({"10000"})
+    public int recipeCount;
+
+    @Param({"15", "100"})
+    public int pageSize;
+
+    private ConfigurableApplicationContext context;
+    private RecipeRepository recipeRepository;
+    private RecipeModelMapper recipeModelMapper;
+    private TransactionTemplate readOnlyTransaction;
+    private Pageable pageable;
+    private Long recipeId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(RecipeManagerApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:recipeReadPathBenchmark;DB_CLOSE_DELAY=-1",
+                        "spring.jpa.hibernate.ddl-auto=create-drop",
+                        "logging.level.root=WARN")
+                .run();
+        recipeRepository = context.getBean(RecipeRepository.class);
+        recipeModelMapper = context.getBean(RecipeModelMapper.class);
+        readOnlyTransaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnlyTransaction.setReadOnly(true);
+        List<Recipe> recipes = BenchmarkRecipes.recipes(recipeCount, false);
+        for (int from = 0; from < recipes.size(); from += 1000) {
+            recipeRepository.saveAll(recipes.subList(from, Math.min(from + 1000, recipes.size())));
+        }
+        pageable = PageRequest.of(3, pageSize, Sort.Direction.DESC, "id");
+        recipeId = recipes.get(recipes.size() / 2).getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public RecipeDTO fetchByIdWithEntity() {
+        return readOnlyTransaction.execute(status ->
+                recipeModelMapper.mapToRecipeDTO(recipeRepository.findById(recipeId).orElseThrow()));
+    }
+
+    @Benchmark
+    public RecipeDTO fetchByIdWithView() {
+        return readOnlyTransaction.execute(status -> recipeModelMapper.mapToRecipeDTO(
+                recipeRepository.findViews(List.of(recipeId)).get(0)));
+    }
+
+    @Benchmark
+    public RecipeResponseDTO searchPageWithEntities() {
+        return readOnlyTransaction.execute(status -> recipeModelMapper.mapToRecipeDTOlist(
+                recipeRepository.findSlice(null, pageable, null).getContent()));
+    }
+
+    @Benchmark
+    public RecipeResponseDTO searchPageWithViews() {
+        return readOnlyTransaction.execute(status -> {
+            Slice<RecipeCursor> positions = recipeRepository.findSlicePositions(null, pageable, null);
+            return recipeModelMapper.mapViewsToRecipeDTOlist(recipeRepository.findViews(
+                    positions.getContent().stream().map(RecipeCursor::recipeId).toList()));
+        });
+    }
+}
@@ -0,0 +1,102 @@
+package com.manage.recipe.benchmark;
+
+import com.manage.recipe.RecipeManagerApplication;
+import com.manage.recipe.model.dao.Recipe;
+import com.manage.recipe.model.dto.RecipeFilterSearchDTO;
+import com.manage.recipe.repository.RecipeRepository;
+import com.manage.recipe.util.RecipeSearchSpecifications;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Measures RecipeSearchSpecifications.getRecipeSearchSpecification and the execution of the resulting query
+ * against an in-memory H2 seeded with recipeCount recipes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RecipeSearchBenchmark {
+
+    @Param({"10000"})
+    public int recipeCount;
+
+    @Param({"category", "servingsAndIncludedIngredients", "excludedIngredients", "instructionText"})
+    public String filter;
+
+    private ConfigurableApplicationContext context;
+    private RecipeRepository recipeRepository;
+    private RecipeSearchSpecifications recipeSearchSpecifications;
+    private RecipeFilterSearchDTO recipeFilterSearchDTO;
+    private final Pageable pageable = PageRequest.of(0, 15, Sort.Direction.DESC, "id");
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(RecipeManagerApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:recipeBenchmark;DB_CLOSE_DELAY=-1",
+                        "spring.jpa.hibernate.ddl-auto=create-drop",
+                        "logging.level.root=WARN")
+                .run();
+        recipeRepository = context.getBean(RecipeRepository.class);
+        recipeSearchSpecifications = context.getBean(RecipeSearchSpecifications.class);
+        List<Recipe> recipes = BenchmarkRecipes.recipes(recipeCount, false);
+        for (int from = 0; from < recipes.size(); from += 1000) {
+            recipeRepository.saveAll(recipes.subList(from, Math.min(from + 1000, recipes.size())));
+        }
+        recipeFilterSearchDTO = switch (filter) {
+            case "category" -> RecipeFilterSearchDTO.builder().foodCategory("VEG").build();
+            case "servingsAndIncludedIngredients" -> RecipeFilterSearchDTO.builder()
+                    .servings(2)
+                    .includedIngredients(List.of("ingredient1", "ingredient2"))
+                    .build();
+            case "excludedIngredients" -> RecipeFilterSearchDTO.builder()
+                    .excludedIngredients(List.of("ingredient1", "ingredient2"))
+                    .build();
+            case "instructionText" -> RecipeFilterSearchDTO.builder()
+                    .searchTextInInstructions("oven for 7")
+                    .build();
+            default -> throw new IllegalArgumentException(filter);
+        };
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Specification<Recipe> buildSpecification() {
+        return recipeSearchSpecifications.getRecipeSearchSpecification(recipeFilterSearchDTO);
+    }
+
+    @Benchmark
+    public Slice<Recipe> executeSearchQuery() {
+        return recipeRepository.findSlice(
+                recipeSearchSpecifications.getRecipeSearchSpecification(recipeFilterSearchDTO), pageable, null);
+    }
+}
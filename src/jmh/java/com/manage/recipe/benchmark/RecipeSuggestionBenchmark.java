@@ -0,0 +1,71 @@
+package com.manage.recipe.benchmark;
+
+import com.manage.recipe.event.RecipeChangeEvent;
+import com.manage.recipe.index.RecipeSuggestionIndex;
+import com.manage.recipe.model.dao.Recipe;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the latency distribution of RecipeSuggestionIndex over recipeCount recipes, for a prefix matching
+ * one name, a tenth of the names and all of them, and of renaming a recipe, which updates the best lists on the
+ * paths of its old and new name. The sample time mode reports p99 next to the mean:
+ * mvn -Pjmh verify -Djmh.args="RecipeSuggestionBenchmark -rf json -rff target/jmh-result.json"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RecipeSuggestionBenchmark {
+
+    @Param({"100000"})
+    public int recipeCount;
+
+    @Param({"recipe12345", "recipe1", "rec"})
+    public String prefix;
+
+    private RecipeSuggestionIndex recipeSuggestionIndex;
+    private Recipe renamedRecipe;
+    private long renames;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        recipeSuggestionIndex = new RecipeSuggestionIndex(null, 10);
+        for (Recipe recipe : BenchmarkRecipes.recipes(recipeCount, true)) {
+            recipeSuggestionIndex.onRecipeChange(
+                    new RecipeChangeEvent(recipe.getId(), RecipeChangeEvent.ChangeType.SAVED, recipe));
+            renamedRecipe = recipe;
+        }
+    }
+
+    @Benchmark
+    public List<String> suggestRecipeNames() {
+        return recipeSuggestionIndex.suggestRecipeNames(prefix, 10);
+    }
+
+    @Benchmark
+    public List<String> suggestIngredientNames() {
+        return recipeSuggestionIndex.suggestIngredientNames("ingredient1", 10);
+    }
+
+    @Benchmark
+    public void renameRecipe() {
+        renamedRecipe.setName("renamed" + renames++ % 2);
+        recipeSuggestionIndex.onRecipeChange(
+                new RecipeChangeEvent(renamedRecipe.getId(), RecipeChangeEvent.ChangeType.SAVED, renamedRecipe));
+    }
+}
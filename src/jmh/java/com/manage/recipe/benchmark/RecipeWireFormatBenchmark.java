@@ -0,0 +1,80 @@
+package com.manage.recipe.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.protobuf.ProtobufMapper;
+import com.fasterxml.jackson.dataformat.protobuf.schema.ProtobufSchema;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.manage.recipe.model.dto.RecipeResponseDTO;
+import com.manage.recipe.util.RecipeModelMapper;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures encoding and decoding of a large RecipeResponseDTO page in every negotiated wire format.
+ * The payload size of each format is logged once per trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Slf4j
+public class RecipeWireFormatBenchmark {
+
+    @Param({"1000"})
+    public int listSize;
+
+    @Param({"json", "cbor", "smile", "protobuf"})
+    public String format;
+
+    private ObjectWriter writer;
+    private ObjectReader reader;
+    private RecipeResponseDTO recipeResponseDTO;
+    private byte[] payload;
+
+    @Setup
+    public void setUp() throws Exception {
+        recipeResponseDTO = new RecipeModelMapper().mapToRecipeDTOlist(BenchmarkRecipes.recipes(listSize, true));
+        ObjectMapper objectMapper = switch (format) {
+            case "json" -> new ObjectMapper();
+            case "cbor" -> new CBORMapper();
+            case "smile" -> new SmileMapper();
+            case "protobuf" -> new ProtobufMapper();
+            default -> throw new IllegalArgumentException(format);
+        };
+        writer = objectMapper.writerFor(RecipeResponseDTO.class);
+        reader = objectMapper.readerFor(RecipeResponseDTO.class);
+        if (objectMapper instanceof ProtobufMapper protobufMapper) {
+            ProtobufSchema schema = protobufMapper.generateSchemaFor(RecipeResponseDTO.class);
+            writer = writer.with(schema);
+            reader = reader.with(schema);
+        }
+        payload = writer.writeValueAsBytes(recipeResponseDTO);
+        log.info("{}: {} bytes for {} recipes", format, payload.length, listSize);
+    }
+
+    @Benchmark
+    public byte[] encode() throws Exception {
+        return writer.writeValueAsBytes(recipeResponseDTO);
+    }
+
+    @Benchmark
+    public RecipeResponseDTO decode() throws Exception {
+        return reader.readValue(payload);
+    }
+}
@@ -0,0 +1,46 @@
+package com.manage.recipe.configuration;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.manage.recipe.model.dto.RecipeResponseDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.cache.CacheManagerCustomizer;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Caches are Caffeine backed and configured through spring.cache.* properties,
+ * hit/miss/eviction statistics are published on /actuator/metrics as cache.gets, cache.puts and cache.evictions.
+ * Search results are bounded by the number of recipes they hold instead, see recipe.search.cache.maxRecipes.
+ * The cache advice runs outside the transaction advice, so a hit never opens a transaction and evictions
+ * happen after the commit.
+ */
+@Configuration
+@EnableCaching(order = Ordered.HIGHEST_PRECEDENCE)
+public class CacheConfig {
+    public static final String RECIPES_BY_ID = "recipesById";
+    public static final String RECIPE_IDS_BY_NAME = "recipeIdsByName";
+    public static final String RECIPE_SEARCHES = "recipeSearches";
+
+    @Bean
+    public CacheManagerCustomizer<CaffeineCacheManager> recipeSearchCacheCustomizer(
+            @Value("${recipe.search.cache.maxRecipes:20000}") long maxRecipes) {
+        return cacheManager -> cacheManager.registerCustomCache(
+                RECIPE_SEARCHES,
+                Caffeine.newBuilder()
+                        .maximumWeight(maxRecipes)
+                        .weigher(CacheConfig::recipeSearchWeight)
+                        .recordStats()
+                        .build());
+    }
+
+    private static int recipeSearchWeight(Object key, Object recipeSearch) {
+        RecipeResponseDTO recipeResponseDTO = (RecipeResponseDTO) recipeSearch;
+        return 1
+                + (recipeResponseDTO.getRecipeDTOList() == null
+                        ? 0
+                        : recipeResponseDTO.getRecipeDTOList().size());
+    }
+}
@@ -0,0 +1,51 @@
+package com.manage.recipe.configuration;
+
+import com.manage.recipe.model.dao.Ingredient;
+import com.manage.recipe.model.dao.Recipe;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * This class moves the id sequences of recipes and ingredients past the ids already stored. Databases created
+ * while the ids were IDENTITY columns get the sequences from ddl-auto update starting at 1, below existing rows,
+ * and every insert would then hit a primary key violation. It runs once the schema is updated and before
+ * anything is inserted, a sequence already ahead of the table is left alone.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+@Slf4j
+public class IdSequenceAligner {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public IdSequenceAligner(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void alignSequences() {
+        align(Recipe.ID_SEQUENCE, "recipes", "recipe_id", Recipe.ID_ALLOCATION_SIZE);
+        align(Ingredient.ID_SEQUENCE, "ingredients", "id", Ingredient.ID_ALLOCATION_SIZE);
+    }
+
+    /**
+     * The pooled optimizer hands out the allocationSize ids up to the value it reads, so the next value has to
+     * be more than allocationSize above the highest stored id.
+     */
+    private void align(String sequenceName, String tableName, String idColumn, int allocationSize) {
+        Long maxId = jdbcTemplate.queryForObject("select max(" + idColumn + ") from " + tableName, Long.class);
+        Long nextValue = jdbcTemplate.queryForObject(
+                "select base_value from information_schema.sequences where upper(sequence_name) = upper(?)",
+                Long.class,
+                sequenceName);
+        if (maxId == null || nextValue == null || nextValue > maxId + allocationSize) {
+            return;
+        }
+        long restartWith = maxId + allocationSize + 1;
+        log.warn("Restarting sequence {} at {}, {} already holds id {}", sequenceName, restartWith, tableName, maxId);
+        jdbcTemplate.execute("alter sequence " + sequenceName + " restart with " + restartWith);
+    }
+}
@@ -0,0 +1,85 @@
+package com.manage.recipe.configuration;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.dataformat.protobuf.ProtobufMapper;
+import com.fasterxml.jackson.dataformat.protobuf.schema.ProtobufSchema;
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.util.StreamUtils;
+
+/**
+ * This converter reads and writes the given classes as Protobuf messages. The schema of every class is generated
+ * once from its Jackson bean description, so the DTOs need no generated code. Clients get the schema from
+ * GET /recipes/schema.proto.
+ */
+@Slf4j
+public class JacksonProtobufHttpMessageConverter extends AbstractHttpMessageConverter<Object> {
+    public static final MediaType APPLICATION_PROTOBUF = new MediaType("application", "x-protobuf");
+
+    private final ProtobufMapper protobufMapper;
+    private final Set<Class<?>> messageTypes;
+    private final Map<Class<?>, ProtobufSchema> schemas = new ConcurrentHashMap<>();
+
+    public JacksonProtobufHttpMessageConverter(ProtobufMapper protobufMapper, Set<Class<?>> messageTypes) {
+        super(APPLICATION_PROTOBUF);
+        this.protobufMapper = protobufMapper;
+        this.messageTypes = messageTypes;
+    }
+
+    /**
+     * @throws IllegalArgumentException when the class is not one of the message types
+     * @return the schema of the class, its .proto source is schema(type).getSource().toString()
+     */
+    public ProtobufSchema schema(Class<?> messageType) {
+        if (!messageTypes.contains(messageType)) {
+            throw new IllegalArgumentException(messageType + " is not a protobuf message type");
+        }
+        return schemas.computeIfAbsent(messageType, type -> {
+            try {
+                return protobufMapper.generateSchemaFor(type);
+            } catch (JsonMappingException jsonMappingException) {
+                throw new IllegalStateException("Could not generate protobuf schema for " + type, jsonMappingException);
+            }
+        });
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return messageTypes.contains(clazz);
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) throws IOException {
+        try {
+            return protobufMapper.readerFor(clazz).with(schema(clazz)).readValue(inputMessage.getBody());
+        } catch (JsonProcessingException jsonProcessingException) {
+            throw new HttpMessageNotReadableException(
+                    "Invalid protobuf message: " + jsonProcessingException.getOriginalMessage(),
+                    jsonProcessingException,
+                    inputMessage);
+        }
+    }
+
+    @Override
+    protected void writeInternal(Object object, HttpOutputMessage outputMessage) throws IOException {
+        try {
+            protobufMapper
+                    .writer(schema(object.getClass()))
+                    .writeValue(StreamUtils.nonClosing(outputMessage.getBody()), object);
+        } catch (JsonProcessingException jsonProcessingException) {
+            throw new HttpMessageNotWritableException(
+                    "Could not write protobuf message: " + jsonProcessingException.getOriginalMessage(),
+                    jsonProcessingException);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.manage.recipe.configuration;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.manage.recipe.model.dto.RecipeDTO;
+import com.manage.recipe.model.dto.RecipeResponseDTO;
+import com.manage.recipe.util.RecipeFragmentCache;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Map;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.util.StreamUtils;
+
+/**
+ * This converter writes RecipeDTO and RecipeResponseDTO as JSON from the fragments of RecipeFragmentCache instead
+ * of serializing them. A search page is its fields serialized by the ObjectMapper with the recipe fragments
+ * written as is into the recipes array, a single recipe is its fragment as is. The bytes are the same as the Jackson
+ * converter would write, compression is left to the server and reading to the Jackson converter.
+ */
+public class RecipeFragmentHttpMessageConverter extends AbstractHttpMessageConverter<Object> {
+    private static final String RECIPES_FIELD = "recipes";
+
+    private final RecipeFragmentCache recipeFragmentCache;
+    private final ObjectMapper objectMapper;
+
+    public RecipeFragmentHttpMessageConverter(RecipeFragmentCache recipeFragmentCache, ObjectMapper objectMapper) {
+        super(MediaType.APPLICATION_JSON);
+        this.recipeFragmentCache = recipeFragmentCache;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return clazz == RecipeDTO.class || clazz == RecipeResponseDTO.class;
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Recipe fragments are write only", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(Object object, HttpOutputMessage outputMessage) throws IOException {
+        if (object instanceof RecipeDTO recipeDTO) {
+            writeRecipe(recipeDTO, outputMessage);
+        } else {
+            writeRecipePage((RecipeResponseDTO) object, outputMessage.getBody());
+        }
+    }
+
+    private void writeRecipe(RecipeDTO recipeDTO, HttpOutputMessage outputMessage) throws IOException {
+        outputMessage.getBody().write(recipeFragmentCache.fragment(recipeDTO).json());
+    }
+
+    /**
+     * Serializes the page fields with the ObjectMapper, so their order and inclusion follow Jackson, and writes
+     * the recipe fragment bytes straight to the body between the brackets of the recipes array.
+     */
+    private void writeRecipePage(RecipeResponseDTO recipeResponseDTO, OutputStream body) throws IOException {
+        List<RecipeDTO> recipeDTOList = recipeResponseDTO.getRecipeDTOList();
+        if (recipeDTOList == null) {
+            objectMapper.writeValue(StreamUtils.nonClosing(body), recipeResponseDTO);
+            return;
+        }
+        ObjectNode page = objectMapper.valueToTree(
+                recipeResponseDTO.toBuilder().recipeDTOList(List.of()).build());
+        JsonGenerator generator = objectMapper.createGenerator(StreamUtils.nonClosing(body), JsonEncoding.UTF8);
+        generator.writeStartObject();
+        for (Map.Entry<String, JsonNode> field : page.properties()) {
+            generator.writeFieldName(field.getKey());
+            if (!RECIPES_FIELD.equals(field.getKey())) {
+                generator.writeTree(field.getValue());
+                continue;
+            }
+            generator.writeStartArray();
+            // the generator has written nothing into the array, closing it adds no separator
+            generator.flush();
+            for (int i = 0; i < recipeDTOList.size(); i++) {
+                if (i > 0) {
+                    body.write(',');
+                }
+                body.write(recipeFragmentCache.fragment(recipeDTOList.get(i)).json());
+            }
+            generator.writeEndArray();
+        }
+        generator.writeEndObject();
+        generator.close();
+    }
+}
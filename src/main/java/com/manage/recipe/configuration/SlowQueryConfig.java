@@ -0,0 +1,36 @@
+package com.manage.recipe.configuration;
+
+import com.manage.recipe.metrics.SlowQueryListener;
+import javax.sql.DataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Wraps the datasource in a datasource-proxy so statements slower than recipe.slowQuery.threshold are captured
+ * by SlowQueryListener and served on /actuator/slowqueries. Disabled with recipe.slowQuery.enabled=false.
+ */
+@Configuration
+@ConditionalOnProperty(name = "recipe.slowQuery.enabled", havingValue = "true", matchIfMissing = true)
+public class SlowQueryConfig {
+
+    @Bean
+    public static BeanPostProcessor slowQueryDataSourceProxy(ObjectProvider<SlowQueryListener> slowQueryListener) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+                    return ProxyDataSourceBuilder.create(dataSource)
+                            .name(beanName)
+                            .listener(slowQueryListener.getObject())
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+}
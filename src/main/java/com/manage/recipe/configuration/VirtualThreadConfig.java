@@ -0,0 +1,47 @@
+package com.manage.recipe.configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+
+/**
+ * Runs Tomcat request handling and Spring MVC async work (e.g. NDJSON streaming) on virtual threads when
+ * recipe.threads.virtual is true. Needs a Java 21 runtime, build with the java21 profile.
+ * The executor is looked up reflectively so the default Java 17 build still compiles.
+ * The embedded H2 engine synchronizes on its session while running a statement, so database calls still pin
+ * their carrier thread; the Hikari pool size bounds how many do so at once.
+ */
+@Configuration
+@ConditionalOnProperty(value = "recipe.threads.virtual", havingValue = "true")
+@Slf4j
+public class VirtualThreadConfig {
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+        ExecutorService executorService = newVirtualThreadPerTaskExecutor();
+        log.info("Tomcat requests are handled on virtual threads");
+        return protocolHandler -> protocolHandler.setExecutor(executorService);
+    }
+
+    @Bean(name = TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    public AsyncTaskExecutor applicationTaskExecutor() {
+        return new TaskExecutorAdapter(newVirtualThreadPerTaskExecutor());
+    }
+
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService)
+                    Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException reflectiveOperationException) {
+            throw new IllegalStateException(
+                    "recipe.threads.virtual needs a Java 21 runtime", reflectiveOperationException);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.manage.recipe.configuration;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.protobuf.ProtobufMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.manage.recipe.model.dto.RecipeDTO;
+import com.manage.recipe.model.dto.RecipeResponseDTO;
+import com.manage.recipe.util.RecipeFragmentCache;
+import java.util.List;
+import java.util.Set;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Registers binary wire formats next to JSON, picked from the Accept (and Content-Type) header:
+ * application/cbor, application/x-jackson-smile and application/x-protobuf.
+ * CBOR and Smile are built from the Boot configured Jackson2ObjectMapperBuilder, so they follow the same
+ * spring.jackson.* settings as JSON. Protobuf covers RecipeDTO and RecipeResponseDTO only, an error response
+ * falls back to the next media type of the Accept header.
+ * JSON recipes and search pages are written from pre-serialized fragments, see RecipeFragmentHttpMessageConverter.
+ */
+@Configuration
+public class WireFormatConfig implements WebMvcConfigurer {
+
+    @Bean
+    public RecipeFragmentHttpMessageConverter recipeFragmentHttpMessageConverter(
+            RecipeFragmentCache recipeFragmentCache, ObjectMapper objectMapper) {
+        return new RecipeFragmentHttpMessageConverter(recipeFragmentCache, objectMapper);
+    }
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(
+            Jackson2ObjectMapperBuilder jackson2ObjectMapperBuilder) {
+        return new MappingJackson2CborHttpMessageConverter(
+                jackson2ObjectMapperBuilder.factory(new CBORFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(
+            Jackson2ObjectMapperBuilder jackson2ObjectMapperBuilder) {
+        return new MappingJackson2SmileHttpMessageConverter(
+                jackson2ObjectMapperBuilder.factory(new SmileFactory()).build());
+    }
+
+    @Bean
+    public JacksonProtobufHttpMessageConverter protobufHttpMessageConverter() {
+        ProtobufMapper protobufMapper = new ProtobufMapper();
+        protobufMapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
+        return new JacksonProtobufHttpMessageConverter(
+                protobufMapper, Set.of(RecipeDTO.class, RecipeResponseDTO.class));
+    }
+
+    /**
+     * Boot puts converter beans ahead of the default ones, which the fragment converter relies on. Protobuf is
+     * moved last so JSON still answers a request without an Accept header or with a wildcard one.
+     */
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        JacksonProtobufHttpMessageConverter protobufHttpMessageConverter = protobufHttpMessageConverter();
+        converters.remove(protobufHttpMessageConverter);
+        converters.add(protobufHttpMessageConverter);
+    }
+}
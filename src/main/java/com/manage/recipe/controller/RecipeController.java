@@ -1,21 +1,45 @@
 package com.manage.recipe.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.manage.recipe.configuration.JacksonProtobufHttpMessageConverter;
+import com.manage.recipe.event.RecipeCatalogVersion;
+import com.manage.recipe.metrics.RecipeSearchMetrics;
+import com.manage.recipe.model.dto.PantryMatchRequestDTO;
+import com.manage.recipe.model.dto.PantryMatchResponseDTO;
 import com.manage.recipe.model.dto.RecipeDTO;
 import com.manage.recipe.model.dto.RecipeFilterSearchDTO;
+import com.manage.recipe.model.dto.RecipeImportResponseDTO;
+import com.manage.recipe.model.dto.RecipeRemovalResponseDTO;
 import com.manage.recipe.model.dto.RecipeResponseDTO;
+import com.manage.recipe.model.dto.RecipeSuggestionResponseDTO;
+import com.manage.recipe.service.RecipeImportService;
 import com.manage.recipe.service.RecipeService;
+import com.manage.recipe.util.RecipeSearchKeyGenerator;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import jakarta.validation.Valid;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Stream;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 /**
  * This controller class holds the rest api end point logic for recipe manager service.
@@ -27,6 +51,7 @@ import org.springframework.web.bind.annotation.*;
 @Slf4j
 @Validated
 public class RecipeController {
+    private static final String MERGE_PATCH_JSON_VALUE = "application/merge-patch+json";
 
     @Value("${recipe.page.pageSize:10}")
     private int pageSize;
@@ -38,9 +63,28 @@ public class RecipeController {
     private String defaultSort;
 
     private final RecipeService recipeService;
+    private final RecipeImportService recipeImportService;
+    private final ObjectMapper objectMapper;
+    private final RecipeCatalogVersion recipeCatalogVersion;
+    private final JacksonProtobufHttpMessageConverter protobufHttpMessageConverter;
+    private final RecipeSearchKeyGenerator recipeSearchKeyGenerator;
+    private final RecipeSearchMetrics recipeSearchMetrics;
 
-    public RecipeController(RecipeService recipeService) {
+    public RecipeController(
+            RecipeService recipeService,
+            RecipeImportService recipeImportService,
+            ObjectMapper objectMapper,
+            RecipeCatalogVersion recipeCatalogVersion,
+            JacksonProtobufHttpMessageConverter protobufHttpMessageConverter,
+            RecipeSearchKeyGenerator recipeSearchKeyGenerator,
+            RecipeSearchMetrics recipeSearchMetrics) {
         this.recipeService = recipeService;
+        this.recipeImportService = recipeImportService;
+        this.objectMapper = objectMapper;
+        this.recipeCatalogVersion = recipeCatalogVersion;
+        this.protobufHttpMessageConverter = protobufHttpMessageConverter;
+        this.recipeSearchKeyGenerator = recipeSearchKeyGenerator;
+        this.recipeSearchMetrics = recipeSearchMetrics;
     }
 
     @Operation(summary = "Add a new recipe")
@@ -55,6 +99,28 @@ public class RecipeController {
         return new ResponseEntity<>(responseRecipeDTO, HttpStatus.CREATED);
     }
 
+    @Operation(summary = "Import a JSON array of recipes")
+    @ApiResponse(responseCode = "200", description = "Recipes imported, see the per recipe results")
+    @ApiResponse(responseCode = "400", description = "Bad request")
+    @ApiResponse(responseCode = "500", description = "Internal server error")
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<RecipeImportResponseDTO> importRecipes(@RequestBody List<RecipeDTO> recipeDTOs) {
+        log.info("Bulk import of {} recipes", recipeDTOs.size());
+        return new ResponseEntity<>(recipeImportService.importRecipes(recipeDTOs.iterator()), HttpStatus.OK);
+    }
+
+    @Operation(summary = "Import a newline delimited JSON stream of recipes")
+    @ApiResponse(responseCode = "200", description = "Recipes imported, malformed lines are rejected per line")
+    @ApiResponse(responseCode = "500", description = "Internal server error")
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<RecipeImportResponseDTO> importRecipeStream(InputStream inputStream) throws IOException {
+        log.info("Bulk import of a recipe stream");
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+                Stream<String> recipeLines = reader.lines().filter(recipeLine -> !recipeLine.isBlank())) {
+            return new ResponseEntity<>(recipeImportService.importRecipeLines(recipeLines.iterator()), HttpStatus.OK);
+        }
+    }
+
     @Operation(summary = "Fetch all recipes")
     @ApiResponse(responseCode = "200", description = "Recipes fetched")
     @ApiResponse(responseCode = "500", description = "Internal server error")
@@ -65,16 +131,53 @@ public class RecipeController {
         return new ResponseEntity<>(allRecipes, HttpStatus.OK);
     }
 
+    @Operation(summary = "Stream all recipes as newline delimited JSON")
+    @ApiResponse(responseCode = "200", description = "Recipes streamed")
+    @ApiResponse(responseCode = "500", description = "Internal server error")
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllRecipes() {
+        log.info("Request for streaming all recipes");
+        StreamingResponseBody responseBody = outputStream -> recipeService.streamAllRecipes(recipeDTO -> {
+            try {
+                outputStream.write(objectMapper.writeValueAsBytes(recipeDTO));
+                outputStream.write('\n');
+            } catch (IOException ioException) {
+                throw new UncheckedIOException(ioException);
+            }
+        });
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(responseBody);
+    }
+
+    @Operation(summary = "Protobuf schema of the recipe responses, RecipeDTO is one of its messages")
+    @ApiResponse(responseCode = "200", description = "Schema in .proto syntax")
+    @GetMapping(value = "/schema.proto", produces = MediaType.TEXT_PLAIN_VALUE)
+    public ResponseEntity<String> fetchProtobufSchema() {
+        return ResponseEntity.ok(protobufHttpMessageConverter
+                .schema(RecipeResponseDTO.class)
+                .getSource()
+                .toString());
+    }
+
     @Operation(summary = "Fetch recipe by recipe id")
     @ApiResponse(responseCode = "200", description = "Recipe fetched")
+    @ApiResponse(responseCode = "304", description = "Recipe not modified since the If-None-Match ETag")
     @ApiResponse(responseCode = "404", description = "Recipe not found")
     @ApiResponse(responseCode = "500", description = "Internal server error")
     @GetMapping(value = "/id/{recipeId}")
-    public ResponseEntity<RecipeDTO> fetchRecipe(@PathVariable Long recipeId) {
+    public ResponseEntity<RecipeDTO> fetchRecipe(@PathVariable Long recipeId, WebRequest webRequest) {
         log.info("Request for fetching  recipe with id {}", recipeId);
+        // a conditional read only needs the version, the recipe itself is neither loaded nor mapped
+        if (webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                && webRequest.checkNotModified(recipeETag(recipeId, recipeService.fetchRecipeVersion(recipeId)))) {
+            log.debug("Recipe {} not modified", recipeId);
+            return null;
+        }
         RecipeDTO recipeDTO = recipeService.fetchRecipeById(recipeId);
         log.debug("Recipe fetched {}", recipeDTO);
-        return new ResponseEntity<>(recipeDTO, HttpStatus.OK);
+        return ResponseEntity.ok()
+                .eTag(recipeETag(recipeId, recipeDTO.getVersion()))
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(recipeDTO);
     }
 
     @Operation(summary = "Update recipe")
@@ -86,7 +189,30 @@ public class RecipeController {
         log.info("Updating recipe with id {}", recipeId);
         RecipeDTO updatedRecipe = recipeService.updateRecipe(recipeId, recipeDTO);
         log.debug("Updated recipe {}", updatedRecipe);
-        return new ResponseEntity<>(updatedRecipe, HttpStatus.OK);
+        return ResponseEntity.ok()
+                .eTag(recipeETag(recipeId, updatedRecipe.getVersion()))
+                .body(updatedRecipe);
+    }
+
+    @Operation(summary = "Partially update recipe with a JSON Merge Patch")
+    @ApiResponse(responseCode = "200", description = "Recipe updated")
+    @ApiResponse(responseCode = "400", description = "Invalid patch")
+    @ApiResponse(responseCode = "404", description = "Recipe not found")
+    @ApiResponse(responseCode = "412", description = "Recipe modified since the If-Match ETag")
+    @ApiResponse(responseCode = "500", description = "Internal server error")
+    @PatchMapping(
+            value = "/{recipeId}",
+            consumes = {MERGE_PATCH_JSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<RecipeDTO> patchRecipe(
+            @PathVariable Long recipeId,
+            @RequestBody JsonNode mergePatch,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        log.info("Patching recipe with id {}", recipeId);
+        RecipeDTO patchedRecipe = recipeService.patchRecipe(recipeId, mergePatch, expectedVersion(recipeId, ifMatch));
+        log.debug("Patched recipe {}", patchedRecipe);
+        return ResponseEntity.ok()
+                .eTag(recipeETag(recipeId, patchedRecipe.getVersion()))
+                .body(patchedRecipe);
     }
 
     @Operation(summary = "Remove recipe by id")
@@ -100,15 +226,102 @@ public class RecipeController {
         return ResponseEntity.noContent().build();
     }
 
+    @Operation(summary = "Remove recipes by ids")
+    @ApiResponse(responseCode = "200", description = "Recipes removed, see the per id results for ids not found")
+    @ApiResponse(responseCode = "400", description = "No ids or too many ids")
+    @ApiResponse(responseCode = "500", description = "Internal server error")
+    @DeleteMapping
+    public ResponseEntity<RecipeRemovalResponseDTO> removeRecipes(@RequestParam List<Long> ids) {
+        log.warn("Removing {} recipes", ids.size());
+        return new ResponseEntity<>(recipeService.removeRecipes(ids), HttpStatus.OK);
+    }
+
     @Operation(summary = "Search recipes")
     @ApiResponse(responseCode = "204", description = "Recipes returned")
+    @ApiResponse(responseCode = "304", description = "No recipe changed since the If-None-Match ETag")
+    @ApiResponse(responseCode = "400", description = "Invalid search cursor")
     @ApiResponse(responseCode = "404", description = "Recipe not found")
     @ApiResponse(responseCode = "500", description = "Internal server error")
     @GetMapping("/search")
     public ResponseEntity<RecipeResponseDTO> searchRecipes(
-            RecipeFilterSearchDTO recipeFilterSearchDTO, @RequestParam(required = false, defaultValue = "0") int page) {
-        log.debug("Recipe search request {}", recipeFilterSearchDTO);
-        Pageable pageable = PageRequest.of(page, pageSize, Sort.Direction.valueOf(sortDirection), defaultSort);
-        return new ResponseEntity<>(recipeService.searchRecipes(recipeFilterSearchDTO, pageable), HttpStatus.OK);
+            RecipeFilterSearchDTO recipeFilterSearchDTO,
+            @RequestParam(required = false, defaultValue = "0") int page,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false, defaultValue = "false") boolean facets,
+            WebRequest webRequest) {
+        log.debug("Recipe search request {} cursor {}", recipeFilterSearchDTO, cursor);
+        Pageable pageable =
+                PageRequest.of(cursor == null ? page : 0, pageSize, Sort.Direction.valueOf(sortDirection), defaultSort);
+        // read before searching, a change committed during the search leaves the page with an older ETag
+        String catalogETag = searchETag(recipeFilterSearchDTO, pageable, cursor, facets);
+        if (webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null && webRequest.checkNotModified(catalogETag)) {
+            log.debug("No recipe changed since search ETag {}", catalogETag);
+            return null;
+        }
+        // measured outside the cached service call, so searches answered by the search cache are counted too
+        RecipeResponseDTO recipeResponseDTO = recipeSearchMetrics.record(
+                recipeFilterSearchDTO, () -> recipeService.searchRecipes(recipeFilterSearchDTO, pageable, cursor));
+        if (facets) {
+            // the page may come from the search cache, it is copied rather than changed
+            recipeResponseDTO = recipeResponseDTO.toBuilder()
+                    .facets(recipeService.searchFacets(recipeFilterSearchDTO))
+                    .build();
+        }
+        return ResponseEntity.ok().eTag(catalogETag).varyBy(HttpHeaders.ACCEPT).body(recipeResponseDTO);
+    }
+
+    @Operation(summary = "Suggest recipe and ingredient names starting with a prefix")
+    @ApiResponse(responseCode = "200", description = "Names returned, best first")
+    @ApiResponse(responseCode = "400", description = "Blank prefix or invalid limit")
+    @ApiResponse(responseCode = "500", description = "Internal server error")
+    @GetMapping("/suggest")
+    public ResponseEntity<RecipeSuggestionResponseDTO> suggestNames(
+            @RequestParam String prefix, @RequestParam(required = false) Integer limit) {
+        log.debug("Name suggestion request for prefix {}", prefix);
+        return new ResponseEntity<>(recipeService.suggestNames(prefix, limit), HttpStatus.OK);
+    }
+
+    @Operation(summary = "Rank recipes by how much of them a pantry covers")
+    @ApiResponse(responseCode = "200", description = "Matching recipes returned, best coverage first")
+    @ApiResponse(responseCode = "400", description = "No pantry ingredient or invalid limit")
+    @ApiResponse(responseCode = "500", description = "Internal server error")
+    @PostMapping(value = "/pantry-match")
+    public ResponseEntity<PantryMatchResponseDTO> matchPantry(
+            @Valid @RequestBody PantryMatchRequestDTO pantryMatchRequestDTO) {
+        log.debug("Pantry match request {}", pantryMatchRequestDTO);
+        return new ResponseEntity<>(recipeService.matchPantry(pantryMatchRequestDTO), HttpStatus.OK);
+    }
+
+    /**
+     * Catalog watermark and digest of the normalized search, so a page is only validated against the same search.
+     * Weak like the recipe ETags, the page may be sent compressed or not.
+     */
+    private String searchETag(RecipeFilterSearchDTO filterDTO, Pageable pageable, String cursor, boolean facets) {
+        return "W/\"" + recipeCatalogVersion.watermark() + "-"
+                + recipeSearchKeyGenerator.digest(filterDTO, pageable, cursor) + (facets ? "-facets" : "") + "\"";
+    }
+
+    /**
+     * Weak, the server may send the recipe compressed or not under the same ETag.
+     */
+    private static String recipeETag(Long recipeId, long version) {
+        return "W/\"" + recipeId + "-" + version + "\"";
+    }
+
+    /**
+     * Reads the version out of an If-Match ETag of this recipe, null when there is no precondition.
+     * An ETag of another recipe or a malformed one yields a version that never matches.
+     */
+    private static Long expectedVersion(Long recipeId, String ifMatch) {
+        if (ifMatch == null || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String eTag = ifMatch.trim().replaceFirst("^W/", "").replace("\"", "");
+        String prefix = recipeId + "-";
+        try {
+            return eTag.startsWith(prefix) ? Long.parseLong(eTag.substring(prefix.length())) : -1L;
+        } catch (NumberFormatException numberFormatException) {
+            return -1L;
+        }
     }
 }
@@ -0,0 +1,37 @@
+package com.manage.recipe.event;
+
+import com.manage.recipe.configuration.CacheConfig;
+import java.util.Objects;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * This class evicts the recipe lookup caches once a recipe change is committed.
+ * The name cache loses the previous and the new name of the changed recipe only, both carried by the event.
+ * Entries are reloaded from the database by the next read.
+ */
+@Component
+public class RecipeCacheEvictionListener {
+
+    private final CacheManager cacheManager;
+
+    public RecipeCacheEvictionListener(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    @Order(RecipeChangeEvent.INDEX_ORDER)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRecipeChange(RecipeChangeEvent recipeChangeEvent) {
+        Objects.requireNonNull(cacheManager.getCache(CacheConfig.RECIPES_BY_ID)).evict(recipeChangeEvent.recipeId());
+        Cache recipeIdsByName = Objects.requireNonNull(cacheManager.getCache(CacheConfig.RECIPE_IDS_BY_NAME));
+        if (recipeChangeEvent.previousName() != null) {
+            recipeIdsByName.evict(recipeChangeEvent.previousName());
+        }
+        if (recipeChangeEvent.recipe() != null && recipeChangeEvent.recipe().getName() != null) {
+            recipeIdsByName.evict(recipeChangeEvent.recipe().getName());
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.manage.recipe.event;
+
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * This class keeps a catalog-wide version watermark that moves whenever a recipe change is committed,
+ * so anything derived from the whole catalog, like a search result page, can tell whether it is still current.
+ * The watermark starts from the boot time, values of a previous run are never reused.
+ */
+@Component
+public class RecipeCatalogVersion {
+
+    private final long epoch = System.currentTimeMillis();
+    private final AtomicLong generation = new AtomicLong();
+
+    @Order(RecipeChangeEvent.CATALOG_VERSION_ORDER)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRecipeChange(RecipeChangeEvent recipeChangeEvent) {
+        generation.incrementAndGet();
+    }
+
+    /**
+     * @return number of recipe changes committed since boot
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    /**
+     * @return the current watermark, e.g. 1792224000000-42
+     */
+    public String watermark() {
+        return epoch + "-" + generation.get();
+    }
+}
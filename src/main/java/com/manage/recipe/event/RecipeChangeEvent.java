@@ -0,0 +1,28 @@
+package com.manage.recipe.event;
+
+import com.manage.recipe.model.dao.Recipe;
+import org.springframework.core.Ordered;
+
+/**
+ * Published whenever a recipe row is inserted, updated or deleted.
+ * The recipe is null for deletions, only the id and the previous name are known at that point.
+ * The previous name is the name stored before the change, null for a new recipe or when it is not known.
+ * Listeners keeping an index or a cache current run in INDEX_ORDER, an index that makes changes visible
+ * asynchronously waits for them in INDEX_VISIBLE_ORDER and the catalog version moves last in
+ * CATALOG_VERSION_ORDER. Within a transaction every listener of one order runs for all of its events before the
+ * next order, so an index applies a whole batch before it waits once.
+ */
+public record RecipeChangeEvent(Long recipeId, ChangeType changeType, Recipe recipe, String previousName) {
+    public static final int INDEX_ORDER = 0;
+    public static final int INDEX_VISIBLE_ORDER = INDEX_ORDER + 1;
+    public static final int CATALOG_VERSION_ORDER = Ordered.LOWEST_PRECEDENCE;
+
+    public RecipeChangeEvent(Long recipeId, ChangeType changeType, Recipe recipe) {
+        this(recipeId, changeType, recipe, null);
+    }
+
+    public enum ChangeType {
+        SAVED,
+        REMOVED
+    }
+}
@@ -0,0 +1,36 @@
+package com.manage.recipe.event;
+
+import com.manage.recipe.model.dao.Recipe;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * This JPA entity listener turns recipe lifecycle callbacks into RecipeChangeEvent application events,
+ * so in-memory indexes stay current no matter whether the write came from RecipeService or straight
+ * from a repository.
+ */
+@Component
+public class RecipeEntityListener {
+
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    public RecipeEntityListener(ApplicationEventPublisher applicationEventPublisher) {
+        this.applicationEventPublisher = applicationEventPublisher;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void onSaved(Recipe recipe) {
+        applicationEventPublisher.publishEvent(new RecipeChangeEvent(
+                recipe.getId(), RecipeChangeEvent.ChangeType.SAVED, recipe, recipe.getStoredName()));
+    }
+
+    @PostRemove
+    public void onRemoved(Recipe recipe) {
+        applicationEventPublisher.publishEvent(new RecipeChangeEvent(
+                recipe.getId(), RecipeChangeEvent.ChangeType.REMOVED, null, recipe.getStoredName()));
+    }
+}
@@ -0,0 +1,9 @@
+package com.manage.recipe.exception;
+
+public class RecipeModifiedException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public RecipeModifiedException(String message) {
+        super(message);
+    }
+}
@@ -1,14 +1,20 @@
 package com.manage.recipe.filter;
 
+import com.manage.recipe.security.JwtTokenDenylist;
 import com.manage.recipe.service.auth.JwtService;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.util.List;
 import java.util.Optional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.AuthorityUtils;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
@@ -18,8 +24,15 @@ import org.springframework.web.filter.OncePerRequestFilter;
 @Component
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
+    private static final String ROLE_CLAIM = "role";
+
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService;
+    private final JwtTokenDenylist jwtTokenDenylist;
+
+    // authorities come from the verified role claim instead of the user store
+    @Value("${recipe.jwt.stateless:true}")
+    private boolean stateless;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
@@ -30,17 +43,30 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             return;
         }
         final String jwt = authHeader.get().substring(7);
-        final String userId = jwtService.extractUsername(jwt);
-        if (userId != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            var userDetails = this.userDetailsService.loadUserByUsername(userId);
-
-            if (jwtService.isTokenValid(jwt, userDetails)) {
-                final var authToken =
-                        new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
-                authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                SecurityContextHolder.getContext().setAuthentication(authToken);
-            }
+        final Optional<Claims> claims = jwtService
+                .verifyToken(jwt)
+                .filter(verifiedClaims -> !jwtTokenDenylist.isRevoked(verifiedClaims.getId()));
+        if (claims.isPresent()
+                && claims.get().getSubject() != null
+                && SecurityContextHolder.getContext().getAuthentication() == null) {
+            final var authToken = stateless ? fromClaims(claims.get()) : fromUserStore(claims.get());
+            authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+            SecurityContextHolder.getContext().setAuthentication(authToken);
         }
         filterChain.doFilter(request, response);
     }
+
+    private UsernamePasswordAuthenticationToken fromClaims(Claims claims) {
+        List<?> roles = claims.get(ROLE_CLAIM, List.class);
+        List<GrantedAuthority> authorities = roles == null
+                ? AuthorityUtils.NO_AUTHORITIES
+                : AuthorityUtils.createAuthorityList(
+                        roles.stream().map(String::valueOf).toArray(String[]::new));
+        return new UsernamePasswordAuthenticationToken(claims.getSubject(), null, authorities);
+    }
+
+    private UsernamePasswordAuthenticationToken fromUserStore(Claims claims) {
+        var userDetails = this.userDetailsService.loadUserByUsername(claims.getSubject());
+        return new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+    }
 }
@@ -1,6 +1,7 @@
 package com.manage.recipe.handler;
 
 import com.manage.recipe.exception.InvalidRecipeRequestException;
+import com.manage.recipe.exception.RecipeModifiedException;
 import com.manage.recipe.exception.RecipeNotFoundException;
 import com.manage.recipe.model.dto.ErrorResponseDTO;
 import java.time.LocalDateTime;
@@ -12,6 +13,7 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -52,6 +54,34 @@ public class RecipeManagerExceptionHandler extends ResponseEntityExceptionHandle
         return new ResponseEntity<>(errorResponseDTO, HttpStatus.NOT_FOUND);
     }
 
+    @ExceptionHandler(RecipeModifiedException.class)
+    public ResponseEntity<ErrorResponseDTO> handleRecipeModifiedException(
+            RecipeModifiedException recipeModifiedException) {
+        log.error("RecipeModifiedException occurred {}", recipeModifiedException.getMessage());
+        ErrorResponseDTO errorResponseDTO = ErrorResponseDTO.builder()
+                .status(HttpStatus.PRECONDITION_FAILED.value())
+                .trace_id(UUID.randomUUID().toString())
+                .error(recipeModifiedException.getLocalizedMessage())
+                .timestamp(LocalDateTime.now())
+                .build();
+
+        return new ResponseEntity<>(errorResponseDTO, HttpStatus.PRECONDITION_FAILED);
+    }
+
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponseDTO> handleOptimisticLockingFailure(
+            ObjectOptimisticLockingFailureException optimisticLockingFailureException) {
+        log.error("Concurrent recipe update {}", optimisticLockingFailureException.getMessage());
+        ErrorResponseDTO errorResponseDTO = ErrorResponseDTO.builder()
+                .status(HttpStatus.CONFLICT.value())
+                .trace_id(UUID.randomUUID().toString())
+                .error("Recipe was modified concurrently, fetch it again and retry")
+                .timestamp(LocalDateTime.now())
+                .build();
+
+        return new ResponseEntity<>(errorResponseDTO, HttpStatus.CONFLICT);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponseDTO> handleInternalServerError(Exception exception, WebRequest webRequest) {
         log.error("Internal server error {}", exception.getMessage());
@@ -0,0 +1,78 @@
+package com.manage.recipe.index;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * One recipe scored against a pantry, how many of its distinct ingredients the pantry holds.
+ */
+public record PantryMatch(long recipeId, int matchedIngredients, int requiredIngredients) {
+
+    /**
+     * Best first: highest coverage, then fewest missing ingredients, then lowest recipe id.
+     */
+    public static final Comparator<PantryMatch> BEST_FIRST =
+            (first, second) -> compare(first.recipeId, first.matchedIngredients, first.requiredIngredients, second);
+
+    public int missingIngredients() {
+        return requiredIngredients - matchedIngredients;
+    }
+
+    /**
+     * @return matched / required, between 0 and 1
+     */
+    public double coverage() {
+        return requiredIngredients == 0 ? 0 : (double) matchedIngredients / requiredIngredients;
+    }
+
+    /**
+     * Coverages are compared by cross multiplication, no rounding of the ratios.
+     * @return negative when the given scores rank before other
+     */
+    private static int compare(long recipeId, int matchedIngredients, int requiredIngredients, PantryMatch other) {
+        int byCoverage = Long.compare(
+                (long) other.matchedIngredients * requiredIngredients,
+                (long) matchedIngredients * other.requiredIngredients);
+        if (byCoverage != 0) {
+            return byCoverage;
+        }
+        int byMissing = Integer.compare(requiredIngredients - matchedIngredients, other.missingIngredients());
+        return byMissing != 0 ? byMissing : Long.compare(recipeId, other.recipeId);
+    }
+
+    /**
+     * This class keeps the best limit matches in a bounded heap whose head is the worst match kept.
+     * Offering a score costs O(log limit) and only scores that enter the heap are allocated.
+     */
+    public static final class TopMatches {
+        private final int limit;
+        private final PriorityQueue<PantryMatch> heap;
+
+        public TopMatches(int limit) {
+            this.limit = limit;
+            this.heap = new PriorityQueue<>(limit + 1, BEST_FIRST.reversed());
+        }
+
+        public void offer(long recipeId, int matchedIngredients, int requiredIngredients) {
+            if (heap.size() == limit
+                    && (limit == 0 || compare(recipeId, matchedIngredients, requiredIngredients, heap.peek()) >= 0)) {
+                return;
+            }
+            heap.add(new PantryMatch(recipeId, matchedIngredients, requiredIngredients));
+            if (heap.size() > limit) {
+                heap.poll();
+            }
+        }
+
+        /**
+         * @return kept matches, best first
+         */
+        public List<PantryMatch> best() {
+            List<PantryMatch> best = new ArrayList<>(heap);
+            best.sort(BEST_FIRST);
+            return best;
+        }
+    }
+}
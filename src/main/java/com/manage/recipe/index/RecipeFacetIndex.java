@@ -0,0 +1,197 @@
+package com.manage.recipe.index;
+
+import com.manage.recipe.event.RecipeChangeEvent;
+import com.manage.recipe.model.FoodCategory;
+import com.manage.recipe.model.dao.Recipe;
+import com.manage.recipe.model.dto.FacetCountDTO;
+import com.manage.recipe.repository.RecipeRepository;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.longlong.Roaring64NavigableMap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * This class holds one bitmap of recipe ids per food category and per servings number, a columnar index of the
+ * two low cardinality attributes. A filter result is narrowed with bitmap AND and its facet counts are the
+ * cardinalities of its intersections with each value bitmap, no GROUP BY query is run.
+ */
+@Component
+@Slf4j
+public class RecipeFacetIndex {
+
+    private final RecipeRepository recipeRepository;
+    private final int[] servingsBuckets;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<FoodCategory, Roaring64NavigableMap> foodCategories = new EnumMap<>(FoodCategory.class);
+    private final TreeMap<Integer, Roaring64NavigableMap> servings = new TreeMap<>();
+    private volatile boolean ready;
+
+    /**
+     * @param servingsBuckets ascending upper bounds of the servings buckets, 1,2,4 counts 1, 2, 3-4 and 5+
+     */
+    public RecipeFacetIndex(
+            RecipeRepository recipeRepository,
+            @Value("${recipe.facets.servingsBuckets:1,2,3,4,6,8,12}") int[] servingsBuckets) {
+        this.recipeRepository = recipeRepository;
+        this.servingsBuckets =
+                Arrays.stream(servingsBuckets).sorted().distinct().toArray();
+    }
+
+    /**
+     * @brief This method (re)builds the whole index from the recipes currently stored in the database.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            foodCategories.clear();
+            servings.clear();
+            for (Object[] row : recipeRepository.findAllFacetColumns()) {
+                add((Long) row[0], (FoodCategory) row[1], (Integer) row[2]);
+            }
+            ready = true;
+            log.info("Facet index built with {} servings values", servings.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @brief This method applies a committed recipe change to the index.
+     * @param recipeChangeEvent
+     */
+    @Order(RecipeChangeEvent.INDEX_ORDER)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRecipeChange(RecipeChangeEvent recipeChangeEvent) {
+        lock.writeLock().lock();
+        try {
+            remove(recipeChangeEvent.recipeId());
+            if (recipeChangeEvent.changeType() == RecipeChangeEvent.ChangeType.SAVED) {
+                Recipe recipe = recipeChangeEvent.recipe();
+                add(recipeChangeEvent.recipeId(), recipe.getFoodCategory(), recipe.getServings());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * This method removes from the bitmap every recipe not matching the food category and servings filters.
+     * @param recipeIds bitmap owned by the caller, narrowed in place
+     * @param foodCategory ignored when null
+     * @param servingsNumber ignored when null
+     */
+    public void retain(Roaring64NavigableMap recipeIds, FoodCategory foodCategory, Integer servingsNumber) {
+        lock.readLock().lock();
+        try {
+            if (foodCategory != null) {
+                recipeIds.and(foodCategories.getOrDefault(foodCategory, new Roaring64NavigableMap()));
+            }
+            if (servingsNumber != null) {
+                recipeIds.and(servings.getOrDefault(servingsNumber, new Roaring64NavigableMap()));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @param recipeIds filter result
+     * @return number of recipes of the result per food category, in declaration order, empty categories left out
+     */
+    public List<FacetCountDTO> countFoodCategories(Roaring64NavigableMap recipeIds) {
+        lock.readLock().lock();
+        try {
+            List<FacetCountDTO> counts = new ArrayList<>();
+            foodCategories.forEach((foodCategory, categoryIds) -> {
+                long count = intersectionCardinality(categoryIds, recipeIds);
+                if (count > 0) {
+                    counts.add(new FacetCountDTO(foodCategory.name(), count));
+                }
+            });
+            return counts;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @param recipeIds filter result
+     * @return number of recipes of the result per servings bucket, e.g. 1, 2, 3-4 and 13+, empty buckets left out
+     */
+    public List<FacetCountDTO> countServings(Roaring64NavigableMap recipeIds) {
+        lock.readLock().lock();
+        try {
+            long[] bucketCounts = new long[servingsBuckets.length + 1];
+            servings.forEach((servingsNumber, servingsIds) -> {
+                int bucket = Arrays.binarySearch(servingsBuckets, servingsNumber);
+                bucketCounts[bucket >= 0 ? bucket : -bucket - 1] += intersectionCardinality(servingsIds, recipeIds);
+            });
+            List<FacetCountDTO> counts = new ArrayList<>();
+            for (int bucket = 0; bucket < bucketCounts.length; bucket++) {
+                if (bucketCounts[bucket] > 0) {
+                    counts.add(new FacetCountDTO(bucketLabel(bucket), bucketCounts[bucket]));
+                }
+            }
+            return counts;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private String bucketLabel(int bucket) {
+        // servings start at 1, the first bucket also holds anything lower
+        int lowerBound = bucket == 0 ? 1 : servingsBuckets[bucket - 1] + 1;
+        if (bucket == servingsBuckets.length) {
+            return lowerBound + "+";
+        }
+        int upperBound = servingsBuckets[bucket];
+        return lowerBound >= upperBound ? String.valueOf(upperBound) : lowerBound + "-" + upperBound;
+    }
+
+    /**
+     * Copies the value bitmap, the value bitmaps together are no larger than the catalog.
+     */
+    private static long intersectionCardinality(Roaring64NavigableMap valueIds, Roaring64NavigableMap recipeIds) {
+        Roaring64NavigableMap intersection = new Roaring64NavigableMap();
+        intersection.or(valueIds);
+        intersection.and(recipeIds);
+        return intersection.getLongCardinality();
+    }
+
+    private void add(Long recipeId, FoodCategory foodCategory, Integer servingsNumber) {
+        if (foodCategory != null) {
+            foodCategories
+                    .computeIfAbsent(foodCategory, category -> new Roaring64NavigableMap())
+                    .addLong(recipeId);
+        }
+        if (servingsNumber != null) {
+            servings.computeIfAbsent(servingsNumber, number -> new Roaring64NavigableMap())
+                    .addLong(recipeId);
+        }
+    }
+
+    private void remove(Long recipeId) {
+        foodCategories.values().forEach(categoryIds -> categoryIds.removeLong(recipeId));
+        servings.values().removeIf(servingsIds -> {
+            servingsIds.removeLong(recipeId);
+            return servingsIds.isEmpty();
+        });
+    }
+}
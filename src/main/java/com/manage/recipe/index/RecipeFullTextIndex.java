@@ -0,0 +1,362 @@
+package com.manage.recipe.index;
+
+import com.manage.recipe.event.RecipeChangeEvent;
+import com.manage.recipe.model.FoodCategory;
+import com.manage.recipe.model.dao.Recipe;
+import com.manage.recipe.model.dto.RecipeFilterSearchDTO;
+import com.manage.recipe.repository.RecipeRepository;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.en.EnglishAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.IntPoint;
+import org.apache.lucene.document.LongPoint;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.simple.SimpleQueryParser;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.CollectorManager;
+import org.apache.lucene.search.ControlledRealTimeReopenThread;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.ScoreMode;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.SimpleCollector;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.roaringbitmap.longlong.Roaring64NavigableMap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * This class holds an embedded Lucene index over recipe instructions.
+ * Name, food category and servings are indexed next to the tokenized instructions, so a text search
+ * is resolved and ranked by relevance in the index and the database only hydrates the requested page.
+ * Query syntax: terms are AND-ed, "quoted text" is a phrase, | is OR and - excludes a term.
+ * The index lives in memory and is rebuilt from the database on startup. Changes are made visible by a reopen
+ * thread at most every recipe.search.fulltext.refresh.minDelay, the changes of a transaction and concurrent
+ * changes share one reopen.
+ */
+@Component
+@Slf4j
+public class RecipeFullTextIndex {
+    private static final String RECIPE_ID = "recipeId";
+    private static final String RECIPE_ID_POINT = "recipeIdPoint";
+    private static final String NAME = "name";
+    private static final String FOOD_CATEGORY = "foodCategory";
+    private static final String SERVINGS_NUMBER = "servings";
+    private static final String INSTRUCTIONS = "instructions";
+
+    private final RecipeRepository recipeRepository;
+    private final Analyzer analyzer = new EnglishAnalyzer();
+    private final ByteBuffersDirectory directory = new ByteBuffersDirectory();
+    private final IndexWriter indexWriter;
+    private final SearcherManager searcherManager;
+    private final ControlledRealTimeReopenThread<IndexSearcher> reopenThread;
+    // keeps a rebuild and incremental changes from interleaving
+    private final Lock lock = new ReentrantLock();
+    private final AtomicLong appliedGeneration = new AtomicLong();
+    private volatile boolean ready;
+
+    /**
+     * @param minRefreshDelay shortest time between two reopens while a change waits to become visible
+     * @param maxRefreshDelay longest time between two reopens when nobody waits
+     */
+    public RecipeFullTextIndex(
+            RecipeRepository recipeRepository,
+            @Value("${recipe.search.fulltext.refresh.minDelay:25ms}") Duration minRefreshDelay,
+            @Value("${recipe.search.fulltext.refresh.maxDelay:1s}") Duration maxRefreshDelay)
+            throws IOException {
+        this.recipeRepository = recipeRepository;
+        this.indexWriter = new IndexWriter(directory, new IndexWriterConfig(analyzer));
+        this.searcherManager = new SearcherManager(indexWriter, null);
+        this.reopenThread = new ControlledRealTimeReopenThread<>(
+                indexWriter, searcherManager, maxRefreshDelay.toNanos() / 1e9, minRefreshDelay.toNanos() / 1e9);
+        reopenThread.setName("recipe-fulltext-reopen");
+        reopenThread.setDaemon(true);
+        reopenThread.start();
+    }
+
+    /**
+     * @brief This method (re)builds the whole index by streaming the searchable columns of every recipe.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        lock.lock();
+        try (Stream<Object[]> rows = recipeRepository.streamAllSearchableColumns()) {
+            indexWriter.deleteAll();
+            rows.forEach(row -> addDocument(
+                    (Long) row[0], (String) row[1], (FoodCategory) row[2], (Integer) row[3], (String) row[4]));
+            indexWriter.commit();
+            searcherManager.maybeRefreshBlocking();
+            ready = true;
+            log.info("Full-text index built with {} recipes", indexWriter.getDocStats().numDocs);
+        } catch (IOException ioException) {
+            throw new UncheckedIOException(ioException);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @brief This method applies a committed recipe change to the index without waiting for it to become
+     *        searchable, awaitRecipeChange does that once for all changes of the transaction.
+     *        Changes committed before the index is built are skipped, the rebuild reads them from the database.
+     * @param recipeChangeEvent
+     */
+    @Order(RecipeChangeEvent.INDEX_ORDER)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRecipeChange(RecipeChangeEvent recipeChangeEvent) {
+        lock.lock();
+        try {
+            if (!ready) {
+                return;
+            }
+            Term recipeIdTerm = new Term(RECIPE_ID, recipeChangeEvent.recipeId().toString());
+            long generation;
+            if (recipeChangeEvent.changeType() == RecipeChangeEvent.ChangeType.SAVED) {
+                Recipe recipe = recipeChangeEvent.recipe();
+                generation = indexWriter.updateDocument(
+                        recipeIdTerm,
+                        toDocument(
+                                recipe.getId(),
+                                recipe.getName(),
+                                recipe.getFoodCategory(),
+                                recipe.getServings(),
+                                recipe.getInstructions()));
+            } else {
+                generation = indexWriter.deleteDocuments(recipeIdTerm);
+            }
+            appliedGeneration.accumulateAndGet(generation, Math::max);
+        } catch (IOException ioException) {
+            throw new UncheckedIOException(ioException);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @brief This method waits for the reopen thread to make the applied changes searchable. Every onRecipeChange
+     *        of a transaction has run by then, so the first call waits for the highest generation and the calls
+     *        for the remaining changes of the batch return at once.
+     * @param recipeChangeEvent
+     */
+    @Order(RecipeChangeEvent.INDEX_VISIBLE_ORDER)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void awaitRecipeChange(RecipeChangeEvent recipeChangeEvent) {
+        long generation = appliedGeneration.get();
+        if (generation == 0) {
+            return;
+        }
+        try {
+            reopenThread.waitForGeneration(generation);
+        } catch (InterruptedException interruptedException) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * This method runs a text search together with the name, food category and servings filters.
+     * @param recipeFilterSearchDTO filter with a non blank searchTextInInstructions
+     * @param candidateIds optional bitmap the result is restricted to, e.g. from the ingredient index
+     * @param offset number of hits to skip
+     * @param pageSize maximum number of ids returned
+     * @return List of recipe ids of the requested page, best match first, empty for a text of stop words only
+     */
+    public List<Long> search(
+            RecipeFilterSearchDTO recipeFilterSearchDTO,
+            Roaring64NavigableMap candidateIds,
+            long offset,
+            int pageSize) {
+        Query query = query(recipeFilterSearchDTO, candidateIds);
+        if (query == null) {
+            return List.of();
+        }
+        try {
+            IndexSearcher indexSearcher = searcherManager.acquire();
+            try {
+                int numberOfHits = (int) Math.min(
+                        offset + pageSize,
+                        Math.max(1, indexSearcher.getIndexReader().maxDoc()));
+                TopDocs topDocs = indexSearcher.search(query, numberOfHits);
+                List<Long> pageIds = new ArrayList<>();
+                ScoreDoc[] scoreDocs = topDocs.scoreDocs;
+                for (long position = offset; position < scoreDocs.length; position++) {
+                    pageIds.add(Long.valueOf(indexSearcher
+                            .storedFields()
+                            .document(scoreDocs[(int) position].doc)
+                            .get(RECIPE_ID)));
+                }
+                return pageIds;
+            } finally {
+                searcherManager.release(indexSearcher);
+            }
+        } catch (IOException ioException) {
+            throw new UncheckedIOException(ioException);
+        }
+    }
+
+    /**
+     * This method resolves a text search together with the name, food category and servings filters to all
+     * matching recipe ids, unranked, e.g. to count facets over the whole result.
+     * @param recipeFilterSearchDTO filter with a non blank searchTextInInstructions
+     * @param candidateIds optional bitmap the result is restricted to, e.g. from the ingredient index
+     * @return A new bitmap of matching recipe ids, owned by the caller, empty for a text of stop words only
+     */
+    public Roaring64NavigableMap match(
+            RecipeFilterSearchDTO recipeFilterSearchDTO, Roaring64NavigableMap candidateIds) {
+        Query query = query(recipeFilterSearchDTO, candidateIds);
+        if (query == null) {
+            return new Roaring64NavigableMap();
+        }
+        try {
+            IndexSearcher indexSearcher = searcherManager.acquire();
+            try {
+                return indexSearcher.search(query, new RecipeIdCollectorManager());
+            } finally {
+                searcherManager.release(indexSearcher);
+            }
+        } catch (IOException ioException) {
+            throw new UncheckedIOException(ioException);
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        reopenThread.close();
+        searcherManager.close();
+        indexWriter.close();
+        directory.close();
+    }
+
+    /**
+     * @return the query, null when the text analyzes to no term at all, e.g. only stop words
+     */
+    private Query query(RecipeFilterSearchDTO recipeFilterSearchDTO, Roaring64NavigableMap candidateIds) {
+        SimpleQueryParser queryParser = new SimpleQueryParser(analyzer, INSTRUCTIONS);
+        queryParser.setDefaultOperator(BooleanClause.Occur.MUST);
+        Query textQuery = queryParser.parse(recipeFilterSearchDTO.getSearchTextInInstructions());
+        if (textQuery == null) {
+            return null;
+        }
+        BooleanQuery.Builder query = new BooleanQuery.Builder();
+        query.add(textQuery, BooleanClause.Occur.MUST);
+        if (recipeFilterSearchDTO.getName() != null) {
+            query.add(new TermQuery(new Term(NAME, recipeFilterSearchDTO.getName())), BooleanClause.Occur.FILTER);
+        }
+        if (recipeFilterSearchDTO.getFoodCategoryEnum() != null) {
+            query.add(
+                    new TermQuery(new Term(
+                            FOOD_CATEGORY,
+                            recipeFilterSearchDTO.getFoodCategoryEnum().name())),
+                    BooleanClause.Occur.FILTER);
+        }
+        if (recipeFilterSearchDTO.getServings() != null) {
+            query.add(
+                    IntPoint.newExactQuery(SERVINGS_NUMBER, recipeFilterSearchDTO.getServings()),
+                    BooleanClause.Occur.FILTER);
+        }
+        if (candidateIds != null) {
+            query.add(LongPoint.newSetQuery(RECIPE_ID_POINT, candidateIds.toArray()), BooleanClause.Occur.FILTER);
+        }
+        return query.build();
+    }
+
+    private void addDocument(
+            Long recipeId, String name, FoodCategory foodCategory, Integer servings, String instructions) {
+        try {
+            indexWriter.addDocument(toDocument(recipeId, name, foodCategory, servings, instructions));
+        } catch (IOException ioException) {
+            throw new UncheckedIOException(ioException);
+        }
+    }
+
+    private Document toDocument(
+            Long recipeId, String name, FoodCategory foodCategory, Integer servings, String instructions) {
+        Document document = new Document();
+        document.add(new StringField(RECIPE_ID, recipeId.toString(), Field.Store.YES));
+        document.add(new LongPoint(RECIPE_ID_POINT, recipeId));
+        if (name != null) {
+            document.add(new StringField(NAME, name, Field.Store.NO));
+        }
+        if (foodCategory != null) {
+            document.add(new StringField(FOOD_CATEGORY, foodCategory.name(), Field.Store.NO));
+        }
+        if (servings != null) {
+            document.add(new IntPoint(SERVINGS_NUMBER, servings));
+        }
+        if (instructions != null) {
+            document.add(new TextField(INSTRUCTIONS, instructions, Field.Store.NO));
+        }
+        return document;
+    }
+
+    /**
+     * Collects the recipe ids of all hits, each collector into its own bitmap, merged once the search is done.
+     */
+    private static class RecipeIdCollectorManager
+            implements CollectorManager<RecipeIdCollector, Roaring64NavigableMap> {
+
+        @Override
+        public RecipeIdCollector newCollector() {
+            return new RecipeIdCollector();
+        }
+
+        @Override
+        public Roaring64NavigableMap reduce(Collection<RecipeIdCollector> collectors) {
+            Roaring64NavigableMap recipeIds = new Roaring64NavigableMap();
+            collectors.forEach(collector -> recipeIds.or(collector.recipeIds));
+            return recipeIds;
+        }
+    }
+
+    private static class RecipeIdCollector extends SimpleCollector {
+        private final Roaring64NavigableMap recipeIds = new Roaring64NavigableMap();
+        private StoredFields storedFields;
+
+        @Override
+        protected void doSetNextReader(LeafReaderContext context) throws IOException {
+            storedFields = context.reader().storedFields();
+        }
+
+        @Override
+        public void collect(int doc) throws IOException {
+            recipeIds.addLong(Long.parseLong(storedFields.document(doc).get(RECIPE_ID)));
+        }
+
+        @Override
+        public ScoreMode scoreMode() {
+            return ScoreMode.COMPLETE_NO_SCORES;
+        }
+    }
+}
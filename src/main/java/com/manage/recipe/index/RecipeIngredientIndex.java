@@ -0,0 +1,242 @@
+package com.manage.recipe.index;
+
+import com.manage.recipe.event.RecipeChangeEvent;
+import com.manage.recipe.model.dao.Ingredient;
+import com.manage.recipe.model.dto.FacetCountDTO;
+import com.manage.recipe.repository.RecipeRepository;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Hibernate;
+import org.roaringbitmap.longlong.Roaring64NavigableMap;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * This class holds an in-memory inverted index from ingredient name to the bitmap of recipe ids using it.
+ * Include/exclude ingredient filters are resolved with bitmap OR/ANDNOT instead of a join and a NOT IN subquery.
+ */
+@Component
+@Slf4j
+public class RecipeIngredientIndex {
+
+    private final RecipeRepository recipeRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Roaring64NavigableMap> postings = new HashMap<>();
+    private final Map<Long, Set<String>> recipeIngredients = new HashMap<>();
+    private final Roaring64NavigableMap allRecipes = new Roaring64NavigableMap();
+    private volatile boolean ready;
+
+    public RecipeIngredientIndex(RecipeRepository recipeRepository) {
+        this.recipeRepository = recipeRepository;
+    }
+
+    /**
+     * @brief This method (re)builds the whole index from the recipes currently stored in the database.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            recipeIngredients.clear();
+            allRecipes.clear();
+            for (Object[] row : recipeRepository.findAllRecipeIngredientNames()) {
+                addPosting((Long) row[0], (String) row[1]);
+            }
+            ready = true;
+            log.info(
+                    "Ingredient index built with {} recipes and {} ingredients",
+                    allRecipes.getLongCardinality(),
+                    postings.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @brief This method applies a committed recipe change to the index.
+     * @param recipeChangeEvent
+     */
+    @Order(RecipeChangeEvent.INDEX_ORDER)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRecipeChange(RecipeChangeEvent recipeChangeEvent) {
+        lock.writeLock().lock();
+        try {
+            removeRecipe(recipeChangeEvent.recipeId());
+            if (recipeChangeEvent.changeType() == RecipeChangeEvent.ChangeType.SAVED) {
+                List<Ingredient> ingredients = recipeChangeEvent.recipe().getIngredients();
+                addPosting(recipeChangeEvent.recipeId(), null);
+                if (ingredients != null && Hibernate.isInitialized(ingredients)) {
+                    ingredients.forEach(
+                            ingredient -> addPosting(recipeChangeEvent.recipeId(), ingredient.getIngredientName()));
+                } else if (ingredients != null) {
+                    // ingredients are lazy, an update that never touched them leaves them unloaded
+                    recipeRepository
+                            .findIngredientNamesByRecipeId(recipeChangeEvent.recipeId())
+                            .forEach(ingredientName -> addPosting(recipeChangeEvent.recipeId(), ingredientName));
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * This method resolves the ingredient filters of a search to the matching recipe ids.
+     * @param includedIngredients recipes using any of these match, all recipes match when null/empty
+     * @param excludedIngredients recipes using any of these are removed from the result
+     * @return A new bitmap of matching recipe ids, owned by the caller
+     */
+    public Roaring64NavigableMap match(List<String> includedIngredients, List<String> excludedIngredients) {
+        lock.readLock().lock();
+        try {
+            Roaring64NavigableMap result = new Roaring64NavigableMap();
+            if (includedIngredients == null || includedIngredients.isEmpty()) {
+                result.or(allRecipes);
+            } else {
+                includedIngredients.stream()
+                        .map(postings::get)
+                        .filter(Objects::nonNull)
+                        .forEach(result::or);
+            }
+            if (excludedIngredients != null) {
+                excludedIngredients.stream()
+                        .map(postings::get)
+                        .filter(Objects::nonNull)
+                        .forEach(result::andNot);
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * This method ranks the recipes sharing at least one ingredient with a pantry. Candidates are the union of
+     * the pantry postings, each candidate is scored by looking its own ingredients up in the pantry and only the
+     * best limit scores are kept in a bounded heap, the catalog is never sorted.
+     * @param pantryIngredients ingredient names at hand
+     * @param limit maximum number of matches returned
+     * @param maxMissing recipes missing more ingredients than this are skipped
+     * @return List of PantryMatch, best coverage first
+     */
+    public List<PantryMatch> matchPantry(Collection<String> pantryIngredients, int limit, int maxMissing) {
+        Set<String> pantry = new HashSet<>(pantryIngredients);
+        lock.readLock().lock();
+        try {
+            Roaring64NavigableMap candidateIds = new Roaring64NavigableMap();
+            pantry.stream().map(postings::get).filter(Objects::nonNull).forEach(candidateIds::or);
+            PantryMatch.TopMatches topMatches = new PantryMatch.TopMatches(limit);
+            candidateIds.forEach(recipeId -> {
+                Set<String> ingredientNames = recipeIngredients.get(recipeId);
+                int matchedIngredients = 0;
+                for (String ingredientName : ingredientNames) {
+                    if (pantry.contains(ingredientName)) {
+                        matchedIngredients++;
+                    }
+                }
+                if (ingredientNames.size() - matchedIngredients <= maxMissing) {
+                    topMatches.offer(recipeId, matchedIngredients, ingredientNames.size());
+                }
+            });
+            return topMatches.best();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * This method counts the ingredients of a filter result in one pass over its recipe ids and keeps the most
+     * used ones in a bounded heap.
+     * @param recipeIds filter result
+     * @param limit maximum number of ingredients returned
+     * @return List of ingredient counts, most used first, ties by name
+     */
+    public List<FacetCountDTO> countIngredients(Roaring64NavigableMap recipeIds, int limit) {
+        Map<String, long[]> counts = new HashMap<>();
+        lock.readLock().lock();
+        try {
+            recipeIds.forEach(recipeId -> {
+                Set<String> ingredientNames = recipeIngredients.get(recipeId);
+                if (ingredientNames != null) {
+                    ingredientNames.forEach(
+                            ingredientName -> counts.computeIfAbsent(ingredientName, name -> new long[1])[0]++);
+                }
+            });
+        } finally {
+            lock.readLock().unlock();
+        }
+        Comparator<FacetCountDTO> mostUsedFirst =
+                Comparator.comparingLong(FacetCountDTO::getCount).reversed().thenComparing(FacetCountDTO::getValue);
+        PriorityQueue<FacetCountDTO> topIngredients = new PriorityQueue<>(limit + 1, mostUsedFirst.reversed());
+        counts.forEach((ingredientName, count) -> {
+            topIngredients.add(new FacetCountDTO(ingredientName, count[0]));
+            if (topIngredients.size() > limit) {
+                topIngredients.poll();
+            }
+        });
+        List<FacetCountDTO> ingredientCounts = new ArrayList<>(topIngredients);
+        ingredientCounts.sort(mostUsedFirst);
+        return ingredientCounts;
+    }
+
+    /**
+     * This method cuts one page of recipe ids out of a bitmap, in id order.
+     * @param recipeIds bitmap returned by match
+     * @param offset number of ids to skip
+     * @param pageSize maximum number of ids returned
+     * @param descending true for highest ids first
+     * @return List of recipe ids of the requested page
+     */
+    public static List<Long> page(Roaring64NavigableMap recipeIds, long offset, int pageSize, boolean descending) {
+        long cardinality = recipeIds.getLongCardinality();
+        List<Long> page = new ArrayList<>(pageSize);
+        for (long position = offset; position < cardinality && page.size() < pageSize; position++) {
+            page.add(recipeIds.select(descending ? cardinality - 1 - position : position));
+        }
+        return page;
+    }
+
+    private void addPosting(Long recipeId, String ingredientName) {
+        allRecipes.addLong(recipeId);
+        if (ingredientName == null) {
+            return;
+        }
+        postings.computeIfAbsent(ingredientName, name -> new Roaring64NavigableMap())
+                .addLong(recipeId);
+        recipeIngredients.computeIfAbsent(recipeId, id -> new HashSet<>()).add(ingredientName);
+    }
+
+    private void removeRecipe(Long recipeId) {
+        allRecipes.removeLong(recipeId);
+        Set<String> ingredientNames = recipeIngredients.remove(recipeId);
+        if (ingredientNames == null) {
+            return;
+        }
+        for (String ingredientName : ingredientNames) {
+            Roaring64NavigableMap posting = postings.get(ingredientName);
+            posting.removeLong(recipeId);
+            if (posting.isEmpty()) {
+                postings.remove(ingredientName);
+            }
+        }
+    }
+}
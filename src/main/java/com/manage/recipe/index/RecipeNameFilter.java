@@ -0,0 +1,117 @@
+package com.manage.recipe.index;
+
+import com.manage.recipe.event.RecipeChangeEvent;
+import com.manage.recipe.repository.RecipeRepository;
+import java.util.concurrent.atomic.AtomicLongArray;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * This class holds a bloom filter over the names of stored recipes. A name the filter has never seen is
+ * definitely new and can be inserted without looking it up, a name it has seen may exist and has to be checked.
+ * Names of removed or renamed recipes are not forgotten, they only cost a lookup until the next rebuild.
+ * The unique index on recipe_name stays the authority, the filter only saves round trips.
+ */
+@Component
+@Slf4j
+public class RecipeNameFilter {
+
+    private final RecipeRepository recipeRepository;
+    private final AtomicLongArray bits;
+    private final long numberOfBits;
+    private final int numberOfHashes;
+    private volatile boolean ready;
+
+    public RecipeNameFilter(
+            RecipeRepository recipeRepository,
+            @Value("${recipe.names.bloom.expectedNames:1000000}") long expectedNames,
+            @Value("${recipe.names.bloom.falsePositiveRate:0.01}") double falsePositiveRate) {
+        this.recipeRepository = recipeRepository;
+        long optimalBits = (long) Math.ceil(-expectedNames * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        this.bits = new AtomicLongArray((int) ((optimalBits + 63) / 64));
+        this.numberOfBits = bits.length() * 64L;
+        this.numberOfHashes = Math.max(1, (int) Math.round((double) numberOfBits / expectedNames * Math.log(2)));
+    }
+
+    /**
+     * @brief This method adds the names of all recipes currently stored in the database to the filter.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        for (int index = 0; index < bits.length(); index++) {
+            bits.set(index, 0);
+        }
+        recipeRepository.findAllNames().forEach(this::add);
+        ready = true;
+        log.info("Recipe name filter built with {} bits and {} hashes", numberOfBits, numberOfHashes);
+    }
+
+    @Order(RecipeChangeEvent.INDEX_ORDER)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRecipeChange(RecipeChangeEvent recipeChangeEvent) {
+        if (recipeChangeEvent.changeType() == RecipeChangeEvent.ChangeType.SAVED) {
+            add(recipeChangeEvent.recipe().getName());
+        }
+    }
+
+    /**
+     * @return false when no recipe has the name, true when one may have it or the filter is not built yet
+     */
+    public boolean mightContain(String name) {
+        if (!ready) {
+            return true;
+        }
+        long hash = hash(name);
+        long secondHash = mix(hash);
+        for (int index = 0; index < numberOfHashes; index++) {
+            long bit = Math.floorMod(hash + index * secondHash, numberOfBits);
+            if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    private void add(String name) {
+        if (name == null) {
+            return;
+        }
+        long hash = hash(name);
+        long secondHash = mix(hash);
+        for (int index = 0; index < numberOfHashes; index++) {
+            long bit = Math.floorMod(hash + index * secondHash, numberOfBits);
+            long mask = 1L << bit;
+            bits.getAndAccumulate((int) (bit >>> 6), mask, (word, setBit) -> word | setBit);
+        }
+    }
+
+    /**
+     * 64 bit FNV-1a over the characters of the name.
+     */
+    private static long hash(String name) {
+        long hash = 0xcbf29ce484222325L;
+        for (int index = 0; index < name.length(); index++) {
+            hash ^= name.charAt(index);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    /**
+     * SplitMix64 finalizer, derives the second hash of the double hashing scheme.
+     */
+    private static long mix(long hash) {
+        hash = (hash ^ (hash >>> 30)) * 0xbf58476d1ce4e5b9L;
+        hash = (hash ^ (hash >>> 27)) * 0x94d049bb133111ebL;
+        return (hash ^ (hash >>> 31)) | 1;
+    }
+}
@@ -0,0 +1,300 @@
+package com.manage.recipe.index;
+
+import com.manage.recipe.event.RecipeChangeEvent;
+import com.manage.recipe.model.dao.Ingredient;
+import com.manage.recipe.model.dao.Recipe;
+import com.manage.recipe.repository.RecipeRepository;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Hibernate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * This class holds case-insensitive tries of recipe names and distinct ingredient names for prefix suggestions.
+ * Every trie node keeps the best recipe.suggest.maxResults terms below it, so a keystroke walks the prefix and
+ * reads one list, whatever the number of matching terms. A change updates the lists on the path of its term only.
+ * Ingredients are weighted by the number of recipes using them, recipe names are unique and weigh the same,
+ * ties go to the shorter term, then alphabetical order.
+ */
+@Component
+@Slf4j
+public class RecipeSuggestionIndex {
+    private static final Comparator<Term> BEST_FIRST = Comparator.comparingLong((Term term) -> term.weight)
+            .reversed()
+            .thenComparingInt(term -> term.text.length())
+            .thenComparing(term -> term.text);
+
+    private final RecipeRepository recipeRepository;
+    private final int maxResults;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Dictionary recipeNames;
+    private final Dictionary ingredientNames;
+    private final Map<Long, RecipeTerms> recipeTerms = new HashMap<>();
+    private volatile boolean ready;
+
+    public RecipeSuggestionIndex(
+            RecipeRepository recipeRepository, @Value("${recipe.suggest.maxResults:10}") int maxResults) {
+        this.recipeRepository = recipeRepository;
+        this.maxResults = maxResults;
+        this.recipeNames = new Dictionary();
+        this.ingredientNames = new Dictionary();
+    }
+
+    /**
+     * @brief This method (re)builds both tries from the recipes currently stored in the database.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            recipeNames.clear();
+            ingredientNames.clear();
+            recipeTerms.clear();
+            Map<Long, Set<String>> ingredientsByRecipe = new HashMap<>();
+            for (Object[] row : recipeRepository.findAllRecipeIngredientNames()) {
+                Set<String> names = ingredientsByRecipe.computeIfAbsent((Long) row[0], id -> new LinkedHashSet<>());
+                if (row[1] != null) {
+                    names.add((String) row[1]);
+                }
+            }
+            for (Object[] row : recipeRepository.findAllIdsAndNames()) {
+                addRecipe((Long) row[0], (String) row[1], ingredientsByRecipe.getOrDefault((Long) row[0], Set.of()));
+            }
+            ready = true;
+            log.info(
+                    "Suggestion index built with {} recipe names and {} ingredient names",
+                    recipeNames.size,
+                    ingredientNames.size);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @brief This method applies a committed recipe change to both tries.
+     * @param recipeChangeEvent
+     */
+    @Order(RecipeChangeEvent.INDEX_ORDER)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRecipeChange(RecipeChangeEvent recipeChangeEvent) {
+        lock.writeLock().lock();
+        try {
+            removeRecipe(recipeChangeEvent.recipeId());
+            if (recipeChangeEvent.changeType() == RecipeChangeEvent.ChangeType.SAVED) {
+                Recipe recipe = recipeChangeEvent.recipe();
+                Set<String> names = new LinkedHashSet<>();
+                List<Ingredient> ingredients = recipe.getIngredients();
+                if (ingredients != null && Hibernate.isInitialized(ingredients)) {
+                    ingredients.forEach(ingredient -> names.add(ingredient.getIngredientName()));
+                } else if (ingredients != null) {
+                    // ingredients are lazy, an update that never touched them leaves them unloaded
+                    names.addAll(recipeRepository.findIngredientNamesByRecipeId(recipeChangeEvent.recipeId()));
+                }
+                names.remove(null);
+                addRecipe(recipeChangeEvent.recipeId(), recipe.getName(), names);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int maxResults() {
+        return maxResults;
+    }
+
+    /**
+     * @param prefix case-insensitive start of a recipe name
+     * @param limit maximum number of names returned, at most recipe.suggest.maxResults
+     * @return recipe names starting with the prefix, best first
+     */
+    public List<String> suggestRecipeNames(String prefix, int limit) {
+        return suggest(recipeNames, prefix, limit);
+    }
+
+    /**
+     * @param prefix case-insensitive start of an ingredient name
+     * @param limit maximum number of names returned, at most recipe.suggest.maxResults
+     * @return ingredient names starting with the prefix, most used first
+     */
+    public List<String> suggestIngredientNames(String prefix, int limit) {
+        return suggest(ingredientNames, prefix, limit);
+    }
+
+    private List<String> suggest(Dictionary dictionary, String prefix, int limit) {
+        String key = normalize(prefix);
+        lock.readLock().lock();
+        try {
+            Node node = dictionary.find(key);
+            return node == null
+                    ? List.of()
+                    : node.best.stream().limit(limit).map(term -> term.text).toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void addRecipe(Long recipeId, String name, Set<String> names) {
+        String recipeName = name == null ? null : recipeNames.add(name);
+        Set<String> keys = new HashSet<>();
+        String[] recipeIngredientNames = names.stream()
+                .filter(ingredientName -> keys.add(normalize(ingredientName)))
+                .map(ingredientNames::add)
+                .toArray(String[]::new);
+        recipeTerms.put(recipeId, new RecipeTerms(recipeName, recipeIngredientNames));
+    }
+
+    private void removeRecipe(Long recipeId) {
+        RecipeTerms terms = recipeTerms.remove(recipeId);
+        if (terms == null) {
+            return;
+        }
+        if (terms.name() != null) {
+            recipeNames.remove(terms.name());
+        }
+        for (String ingredientName : terms.ingredientNames()) {
+            ingredientNames.remove(ingredientName);
+        }
+    }
+
+    private static String normalize(String text) {
+        return text.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * The terms of one recipe, kept to take them back out when it changes. The strings are the ones held by the
+     * dictionaries, not copies.
+     */
+    private record RecipeTerms(String name, String[] ingredientNames) {}
+
+    /**
+     * A term with its display text and weight, the number of recipes using it. It is shared by the best lists
+     * of the nodes above it, which are resorted whenever the weight changes.
+     */
+    private static final class Term {
+        private final String text;
+        private long weight;
+
+        private Term(String text) {
+            this.text = text;
+        }
+    }
+
+    private static final class Node {
+        private final Map<Character, Node> children = new HashMap<>();
+        private final List<Term> best = new ArrayList<>();
+        private Term term;
+    }
+
+    /**
+     * One trie from normalized term to its display text and weight. Guarded by the lock of the index.
+     */
+    private final class Dictionary {
+        private Node root = new Node();
+        private int size;
+
+        /**
+         * @return the display text now held for the term
+         */
+        String add(String text) {
+            String key = normalize(text);
+            List<Node> path = new ArrayList<>(key.length() + 1);
+            Node node = root;
+            path.add(node);
+            for (int index = 0; index < key.length(); index++) {
+                node = node.children.computeIfAbsent(key.charAt(index), character -> new Node());
+                path.add(node);
+            }
+            if (node.term == null) {
+                node.term = new Term(text);
+                size++;
+            }
+            Term term = node.term;
+            term.weight++;
+            // a heavier term can only move up, or into, the best lists of its path
+            for (Node pathNode : path) {
+                if (!pathNode.best.contains(term)) {
+                    pathNode.best.add(term);
+                }
+                pathNode.best.sort(BEST_FIRST);
+                if (pathNode.best.size() > maxResults) {
+                    pathNode.best.remove(maxResults);
+                }
+            }
+            return term.text;
+        }
+
+        void remove(String text) {
+            String key = normalize(text);
+            List<Node> path = new ArrayList<>(key.length() + 1);
+            Node node = root;
+            path.add(node);
+            for (int index = 0; index < key.length() && node != null; index++) {
+                node = node.children.get(key.charAt(index));
+                path.add(node);
+            }
+            if (node == null || node.term == null) {
+                return;
+            }
+            Term term = node.term;
+            if (--term.weight == 0) {
+                node.term = null;
+                size--;
+            }
+            // deepest first, a lighter or removed term may give its place to one from a child list
+            for (int depth = path.size() - 1; depth >= 0; depth--) {
+                Node pathNode = path.get(depth);
+                if (depth > 0 && pathNode.term == null && pathNode.children.isEmpty()) {
+                    path.get(depth - 1).children.remove(key.charAt(depth - 1));
+                } else if (pathNode.best.contains(term)) {
+                    refill(pathNode);
+                }
+            }
+        }
+
+        void clear() {
+            root = new Node();
+            size = 0;
+        }
+
+        Node find(String key) {
+            Node node = root;
+            for (int index = 0; index < key.length() && node != null; index++) {
+                node = node.children.get(key.charAt(index));
+            }
+            return node;
+        }
+
+        /**
+         * The best terms below a node are among its own term and the best lists of its children.
+         */
+        private void refill(Node node) {
+            List<Term> candidates = new ArrayList<>();
+            if (node.term != null) {
+                candidates.add(node.term);
+            }
+            node.children.values().forEach(child -> candidates.addAll(child.best));
+            candidates.sort(BEST_FIRST);
+            node.best.clear();
+            node.best.addAll(candidates.subList(0, Math.min(maxResults, candidates.size())));
+        }
+    }
+}
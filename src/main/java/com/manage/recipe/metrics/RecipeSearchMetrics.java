@@ -0,0 +1,166 @@
+package com.manage.recipe.metrics;
+
+import com.manage.recipe.model.dto.RecipeFilterSearchDTO;
+import com.manage.recipe.model.dto.RecipeResponseDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+import org.springframework.stereotype.Component;
+
+/**
+ * This class records search latency, rows returned and SQL statements per search, tagged by the filter shape of
+ * the request (which filters were set, not their values) and the path that served it. A search served by an
+ * index also records the candidates the index resolved before paging, the database reports no such number.
+ * The caller records around the cached search, a search answered by the search cache keeps the cache path.
+ */
+@Component
+public class RecipeSearchMetrics {
+    public static final String PATH_CACHE = "cache";
+    public static final String PATH_DATABASE = "database";
+    public static final String PATH_INGREDIENT_INDEX = "ingredientIndex";
+    public static final String PATH_FULL_TEXT_INDEX = "fullTextIndex";
+
+    private static final String FILTERS_TAG = "filters";
+    private static final String PATH_TAG = "path";
+    private static final ThreadLocal<Sample> CURRENT_SAMPLE = new ThreadLocal<>();
+
+    private final MeterRegistry meterRegistry;
+    private final SqlStatementCounter sqlStatementCounter;
+
+    public RecipeSearchMetrics(MeterRegistry meterRegistry, SqlStatementCounter sqlStatementCounter) {
+        this.meterRegistry = meterRegistry;
+        this.sqlStatementCounter = sqlStatementCounter;
+    }
+
+    /**
+     * This method measures one search, the search runs on the current thread and may be answered by the cache.
+     * The service reports the path that served a search it actually ran through current().
+     */
+    public RecipeResponseDTO record(RecipeFilterSearchDTO recipeFilterSearchDTO, Supplier<RecipeResponseDTO> search) {
+        sqlStatementCounter.reset();
+        Sample sample = new Sample(recipeFilterSearchDTO, Timer.start(meterRegistry));
+        CURRENT_SAMPLE.set(sample);
+        long rowsReturned = 0;
+        try {
+            RecipeResponseDTO recipeResponseDTO = search.get();
+            if (recipeResponseDTO != null && recipeResponseDTO.getRecipeDTOList() != null) {
+                rowsReturned = recipeResponseDTO.getRecipeDTOList().size();
+            }
+            return recipeResponseDTO;
+        } finally {
+            CURRENT_SAMPLE.remove();
+            sample.stop(rowsReturned);
+        }
+    }
+
+    /**
+     * @return the sample of the search recorded on the current thread, a detached sample that is never
+     *         published when the search is not recorded
+     */
+    public Sample current(RecipeFilterSearchDTO recipeFilterSearchDTO) {
+        Sample sample = CURRENT_SAMPLE.get();
+        return sample != null ? sample : new Sample(recipeFilterSearchDTO, null);
+    }
+
+    /**
+     * @return the search recorded on the current thread, null outside of a search
+     */
+    public static RecipeFilterSearchDTO currentSearch() {
+        Sample sample = CURRENT_SAMPLE.get();
+        return sample == null ? null : sample.recipeFilterSearchDTO;
+    }
+
+    /**
+     * This method names the filters set on a search, e.g. "category,include", or "none".
+     */
+    public static String filterShape(RecipeFilterSearchDTO recipeFilterSearchDTO) {
+        List<String> filters = new ArrayList<>();
+        if (recipeFilterSearchDTO.getName() != null) {
+            filters.add("name");
+        }
+        if (recipeFilterSearchDTO.getFoodCategoryEnum() != null) {
+            filters.add("category");
+        }
+        if (recipeFilterSearchDTO.getServings() != null) {
+            filters.add("servings");
+        }
+        if (recipeFilterSearchDTO.getIncludedIngredients() != null
+                && !recipeFilterSearchDTO.getIncludedIngredients().isEmpty()) {
+            filters.add("include");
+        }
+        if (recipeFilterSearchDTO.getExcludedIngredients() != null
+                && !recipeFilterSearchDTO.getExcludedIngredients().isEmpty()) {
+            filters.add("exclude");
+        }
+        if (recipeFilterSearchDTO.getSearchTextInInstructions() != null
+                && !recipeFilterSearchDTO.getSearchTextInInstructions().isBlank()) {
+            filters.add("text");
+        }
+        return filters.isEmpty() ? "none" : String.join(",", filters);
+    }
+
+    public class Sample {
+        private final RecipeFilterSearchDTO recipeFilterSearchDTO;
+        private final Timer.Sample timerSample;
+        private String path = PATH_CACHE;
+        private Long candidates;
+
+        private Sample(RecipeFilterSearchDTO recipeFilterSearchDTO, Timer.Sample timerSample) {
+            this.recipeFilterSearchDTO = recipeFilterSearchDTO;
+            this.timerSample = timerSample;
+        }
+
+        /**
+         * @param path which index or the database served the search
+         */
+        public void path(String path) {
+            this.path = path;
+            this.candidates = null;
+        }
+
+        /**
+         * @param path the index that served the search
+         * @param candidates recipes the index resolved the filter to, before paging
+         */
+        public void candidates(String path, long candidates) {
+            this.path = path;
+            this.candidates = candidates;
+        }
+
+        private void stop(long rowsReturned) {
+            String filters = filterShape(recipeFilterSearchDTO);
+            timerSample.stop(Timer.builder("recipe.search")
+                    .description("Recipe search latency")
+                    .tag(FILTERS_TAG, filters)
+                    .tag(PATH_TAG, path)
+                    .publishPercentiles(0.5, 0.95, 0.99)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+            if (candidates != null) {
+                Counter.builder("recipe.search.index.candidates")
+                        .description("Candidate recipes resolved by an index before paging")
+                        .tag(FILTERS_TAG, filters)
+                        .tag(PATH_TAG, path)
+                        .register(meterRegistry)
+                        .increment(candidates);
+            }
+            Counter.builder("recipe.search.rows.returned")
+                    .description("Recipes returned by searches")
+                    .tag(FILTERS_TAG, filters)
+                    .tag(PATH_TAG, path)
+                    .register(meterRegistry)
+                    .increment(rowsReturned);
+            DistributionSummary.builder("recipe.search.sql.statements")
+                    .description("SQL statements per search")
+                    .tag(FILTERS_TAG, filters)
+                    .tag(PATH_TAG, path)
+                    .publishPercentiles(0.5, 0.99)
+                    .register(meterRegistry)
+                    .record(sqlStatementCounter.count());
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.manage.recipe.metrics;
+
+import com.manage.recipe.model.dto.SlowQueryDTO;
+import jakarta.annotation.PreDestroy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * This datasource-proxy listener records every statement slower than recipe.slowQuery.threshold with the search
+ * that issued it and, for queries, the EXPLAIN ANALYZE output of H2. The plan is taken by one background thread
+ * on a connection of its own, so the request neither waits for it nor shares its connection. While
+ * recipe.slowQuery.explainQueue statements wait to be explained, further ones are recorded without a plan.
+ * Bind values are only recorded when recipe.slowQuery.bindValues is true, they may hold personal data.
+ */
+@Component
+@Slf4j
+public class SlowQueryListener implements QueryExecutionListener {
+
+    private static final ThreadLocal<Boolean> EXPLAINING = ThreadLocal.withInitial(() -> false);
+
+    private final SlowQueryLog slowQueryLog;
+    private final ObjectProvider<DataSource> dataSource;
+    private final long thresholdMillis;
+    private final boolean recordBindValues;
+    private final ThreadPoolExecutor explainExecutor;
+
+    /**
+     * @param dataSource looked up on first use, the proxied datasource is built with this listener
+     */
+    public SlowQueryListener(
+            SlowQueryLog slowQueryLog,
+            ObjectProvider<DataSource> dataSource,
+            @Value("${recipe.slowQuery.threshold:200ms}") Duration threshold,
+            @Value("${recipe.slowQuery.bindValues:false}") boolean recordBindValues,
+            @Value("${recipe.slowQuery.explainQueue:16}") int explainQueue) {
+        this.slowQueryLog = slowQueryLog;
+        this.dataSource = dataSource;
+        this.thresholdMillis = threshold.toMillis();
+        this.recordBindValues = recordBindValues;
+        this.explainExecutor = new ThreadPoolExecutor(
+                1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(explainQueue), runnable -> {
+                    Thread thread = new Thread(runnable, "slow-query-explain");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo executionInfo, List<QueryInfo> queryInfoList) {}
+
+    @Override
+    public void afterQuery(ExecutionInfo executionInfo, List<QueryInfo> queryInfoList) {
+        if (executionInfo.getElapsedTime() < thresholdMillis || EXPLAINING.get()) {
+            return;
+        }
+        for (QueryInfo queryInfo : queryInfoList) {
+            log.warn("Slow SQL statement took {} ms: {}", executionInfo.getElapsedTime(), queryInfo.getQuery());
+            SlowQueryDTO slowQueryDTO = SlowQueryDTO.builder()
+                    .executedAt(Instant.now())
+                    .elapsedMillis(executionInfo.getElapsedTime())
+                    .sql(queryInfo.getQuery())
+                    .bindValues(recordBindValues ? bindValues(queryInfo) : null)
+                    .searchFilter(RecipeSearchMetrics.currentSearch())
+                    .build();
+            if (!queryInfo.getQuery().trim().toLowerCase().startsWith("select")) {
+                slowQueryLog.record(slowQueryDTO);
+                continue;
+            }
+            // EXPLAIN ANALYZE runs the query again, with the first set of bind values of a batch
+            List<ParameterSetOperation> parameters =
+                    queryInfo.getParametersList().isEmpty()
+                            ? List.of()
+                            : List.copyOf(queryInfo.getParametersList().get(0));
+            try {
+                explainExecutor.execute(() -> {
+                    slowQueryDTO.setPlan(explain(queryInfo.getQuery(), parameters));
+                    slowQueryLog.record(slowQueryDTO);
+                });
+            } catch (RejectedExecutionException rejectedExecutionException) {
+                log.debug("Slow SQL statement recorded without a plan, the explain queue is full");
+                slowQueryLog.record(slowQueryDTO);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        explainExecutor.shutdownNow();
+    }
+
+    private List<List<Object>> bindValues(QueryInfo queryInfo) {
+        List<List<Object>> bindValues = new ArrayList<>();
+        for (List<ParameterSetOperation> parameters : queryInfo.getParametersList()) {
+            List<Object> values = new ArrayList<>(parameters.size());
+            parameters.forEach(parameter -> values.add(
+                    parameter.getArgs().length > 1 ? String.valueOf(parameter.getArgs()[1]) : null));
+            bindValues.add(values);
+        }
+        return bindValues;
+    }
+
+    private String explain(String query, List<ParameterSetOperation> parameters) {
+        // the explain statement goes through the proxy as well and must not be recorded itself
+        EXPLAINING.set(true);
+        try (Connection connection = dataSource.getObject().getConnection();
+                PreparedStatement explainStatement = connection.prepareStatement("EXPLAIN ANALYZE " + query)) {
+            for (ParameterSetOperation parameter : parameters) {
+                parameter.getMethod().invoke(explainStatement, parameter.getArgs());
+            }
+            StringBuilder plan = new StringBuilder();
+            try (ResultSet resultSet = explainStatement.executeQuery()) {
+                while (resultSet.next()) {
+                    plan.append(resultSet.getString(1)).append('\n');
+                }
+            }
+            return plan.toString().trim();
+        } catch (SQLException | ReflectiveOperationException | RuntimeException exception) {
+            log.debug("Could not explain slow SQL statement", exception);
+            return null;
+        } finally {
+            EXPLAINING.set(false);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.manage.recipe.metrics;
+
+import com.manage.recipe.model.dto.SlowQueryDTO;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * This class keeps the most recent slow SQL statements in a ring buffer of fixed capacity,
+ * the oldest entry is overwritten once the buffer is full.
+ */
+@Component
+public class SlowQueryLog {
+
+    private final SlowQueryDTO[] slowQueries;
+    private long recorded;
+
+    public SlowQueryLog(@Value("${recipe.slowQuery.capacity:100}") int capacity) {
+        this.slowQueries = new SlowQueryDTO[capacity];
+    }
+
+    public synchronized void record(SlowQueryDTO slowQueryDTO) {
+        slowQueries[(int) (recorded++ % slowQueries.length)] = slowQueryDTO;
+    }
+
+    /**
+     * @return recorded slow queries, most recent first
+     */
+    public synchronized List<SlowQueryDTO> recent() {
+        int size = (int) Math.min(recorded, slowQueries.length);
+        List<SlowQueryDTO> recent = new ArrayList<>(size);
+        for (long position = recorded - 1; position >= recorded - size; position--) {
+            recent.add(slowQueries[(int) (position % slowQueries.length)]);
+        }
+        return recent;
+    }
+
+    public synchronized void clear() {
+        Arrays.fill(slowQueries, null);
+        recorded = 0;
+    }
+}
@@ -0,0 +1,32 @@
+package com.manage.recipe.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.stereotype.Component;
+
+/**
+ * This Hibernate statement inspector counts the SQL statements prepared by the current thread,
+ * so a request can tell how many round trips it cost.
+ */
+@Component
+public class SqlStatementCounter implements StatementInspector {
+    private static final long serialVersionUID = 1L;
+
+    private static final ThreadLocal<long[]> STATEMENTS = ThreadLocal.withInitial(() -> new long[1]);
+
+    @Override
+    public String inspect(String sql) {
+        STATEMENTS.get()[0]++;
+        return sql;
+    }
+
+    /**
+     * @return statements prepared by the current thread since the last reset
+     */
+    public long count() {
+        return STATEMENTS.get()[0];
+    }
+
+    public void reset() {
+        STATEMENTS.get()[0] = 0;
+    }
+}
@@ -1,22 +1,40 @@
 package com.manage.recipe.model.dao;
 
+import com.manage.recipe.event.RecipeEntityListener;
 import com.manage.recipe.model.FoodCategory;
 import jakarta.persistence.*;
 import java.util.List;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import org.hibernate.annotations.DynamicUpdate;
 
 @Entity
 @Data
 @Builder
 @AllArgsConstructor
 @NoArgsConstructor
-@Table(name = "recipes")
+@Table(
+        name = "recipes",
+        uniqueConstraints = @UniqueConstraint(name = Recipe.UNIQUE_NAME_CONSTRAINT, columnNames = "recipe_name"))
+@EntityListeners(RecipeEntityListener.class)
+@DynamicUpdate
 public class Recipe {
+    public static final String ID_SEQUENCE = "recipes_seq";
+    public static final int ID_ALLOCATION_SIZE = 50;
+    public static final String UNIQUE_NAME_CONSTRAINT = "uk_recipes_recipe_name";
+    public static final String INGREDIENTS_JOIN_TABLE = "recipes_ingredients";
+    public static final String INGREDIENTS_JOIN_COLUMN = "recipe_recipe_id";
+    public static final String INGREDIENTS_INVERSE_JOIN_COLUMN = "ingredients_id";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = ID_SEQUENCE)
+    @SequenceGenerator(name = ID_SEQUENCE, sequenceName = ID_SEQUENCE, allocationSize = ID_ALLOCATION_SIZE)
     @Column(name = "recipe_id")
     private Long id;
 
@@ -30,9 +48,36 @@ public class Recipe {
     private int servings;
 
     @Column(name = "ingredients")
-    @OneToMany(cascade = CascadeType.ALL, fetch = FetchType.EAGER)
+    @OneToMany(cascade = CascadeType.ALL, fetch = FetchType.LAZY, orphanRemoval = true)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    @JoinTable(
+            name = INGREDIENTS_JOIN_TABLE,
+            joinColumns = @JoinColumn(name = INGREDIENTS_JOIN_COLUMN),
+            inverseJoinColumns = @JoinColumn(name = INGREDIENTS_INVERSE_JOIN_COLUMN))
     private List<Ingredient> ingredients;
 
     @Column(name = "recipe_instructions")
     private String instructions;
+
+    @Version
+    @Column(name = "recipe_version", columnDefinition = "bigint default 0 not null")
+    private long version;
+
+    /**
+     * Name as last read from or written to the database, so a change can tell which name it replaced.
+     * Entity listeners run before this class's own callbacks and still see the previous value.
+     */
+    @Transient
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private String storedName;
+
+    @PostLoad
+    @PostPersist
+    @PostUpdate
+    void rememberStoredName() {
+        storedName = name;
+    }
 }
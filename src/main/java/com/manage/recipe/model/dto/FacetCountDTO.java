@@ -0,0 +1,15 @@
+package com.manage.recipe.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class FacetCountDTO {
+    private String value;
+    private long count;
+}
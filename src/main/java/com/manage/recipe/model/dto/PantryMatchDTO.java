@@ -0,0 +1,20 @@
+package com.manage.recipe.model.dto;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class PantryMatchDTO {
+    private RecipeDTO recipe;
+    private int matchedIngredients;
+    private int requiredIngredients;
+    private int missingIngredients;
+    private double coverage;
+    private List<String> missingIngredientNames;
+}
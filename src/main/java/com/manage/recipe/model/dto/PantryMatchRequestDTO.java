@@ -0,0 +1,24 @@
+package com.manage.recipe.model.dto;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class PantryMatchRequestDTO {
+    @NotEmpty(message = "Pantry ingredients can not be null/empty")
+    private List<String> ingredients;
+
+    @Min(value = 1, message = "There should be at least 1 result")
+    private Integer limit;
+
+    @Min(value = 0, message = "Missing ingredients can not be negative")
+    private Integer maxMissing;
+}
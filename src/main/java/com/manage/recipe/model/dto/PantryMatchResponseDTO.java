@@ -0,0 +1,16 @@
+package com.manage.recipe.model.dto;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class PantryMatchResponseDTO {
+    private int status;
+    private List<PantryMatchDTO> matches;
+}
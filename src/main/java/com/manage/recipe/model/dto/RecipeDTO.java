@@ -1,5 +1,6 @@
 package com.manage.recipe.model.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.manage.recipe.model.FoodCategory;
 import com.manage.recipe.model.dao.Ingredient;
 import jakarta.validation.constraints.Min;
@@ -24,4 +25,7 @@ public class RecipeDTO {
 
     private List<Ingredient> ingredients;
     private String instructions;
+
+    @JsonIgnore
+    private long version;
 }
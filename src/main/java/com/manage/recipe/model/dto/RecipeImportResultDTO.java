@@ -0,0 +1,25 @@
+package com.manage.recipe.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class RecipeImportResultDTO {
+    private int index;
+    private String name;
+    private Long recipeId;
+    private ImportStatus importStatus;
+    private String error;
+
+    public enum ImportStatus {
+        CREATED,
+        REJECTED
+    }
+}
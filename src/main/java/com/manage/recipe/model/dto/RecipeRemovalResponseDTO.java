@@ -0,0 +1,18 @@
+package com.manage.recipe.model.dto;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class RecipeRemovalResponseDTO {
+    private int status;
+    private int removed;
+    private int notFound;
+    private List<RecipeRemovalResultDTO> results;
+}
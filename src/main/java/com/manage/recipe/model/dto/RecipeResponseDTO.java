@@ -1,5 +1,6 @@
 package com.manage.recipe.model.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import java.util.List;
 import lombok.AllArgsConstructor;
@@ -8,7 +9,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 @AllArgsConstructor
 @NoArgsConstructor
 public class RecipeResponseDTO {
@@ -16,4 +17,10 @@ public class RecipeResponseDTO {
 
     @JsonProperty(value = "recipes")
     private List<RecipeDTO> recipeDTOList;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String nextCursor;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private RecipeFacetsDTO facets;
 }
@@ -0,0 +1,17 @@
+package com.manage.recipe.model.dto;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class RecipeSuggestionResponseDTO {
+    private int status;
+    private List<String> recipes;
+    private List<String> ingredients;
+}
@@ -0,0 +1,17 @@
+package com.manage.recipe.model.dto;
+
+import com.manage.recipe.model.FoodCategory;
+import java.util.List;
+
+/**
+ * This record is the read model of a recipe. It is filled from scalar queries, so reading it never creates a
+ * managed entity, a dirty-check snapshot or a lazy collection.
+ */
+public record RecipeView(
+        Long recipeId,
+        String name,
+        FoodCategory foodCategory,
+        int servings,
+        String instructions,
+        long version,
+        List<String> ingredientNames) {}
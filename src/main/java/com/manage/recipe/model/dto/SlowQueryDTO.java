@@ -0,0 +1,23 @@
+package com.manage.recipe.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.time.Instant;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class SlowQueryDTO {
+    private Instant executedAt;
+    private long elapsedMillis;
+    private String sql;
+    private List<List<Object>> bindValues;
+    private RecipeFilterSearchDTO searchFilter;
+    private String plan;
+}
@@ -1,12 +1,63 @@
 package com.manage.recipe.repository;
 
+import com.manage.recipe.configuration.CacheConfig;
 import com.manage.recipe.model.dao.Recipe;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface RecipeRepository extends JpaRepository<Recipe, Long>, JpaSpecificationExecutor<Recipe> {
+public interface RecipeRepository
+        extends JpaRepository<Recipe, Long>, JpaSpecificationExecutor<Recipe>, RecipeRepositoryCustom {
+    @Override
+    @EntityGraph(attributePaths = "ingredients")
+    List<Recipe> findAll();
+
+    @Override
+    @EntityGraph(attributePaths = "ingredients")
+    Optional<Recipe> findById(Long id);
+
     Optional<Recipe> findByName(String name);
+
+    @Cacheable(cacheNames = CacheConfig.RECIPE_IDS_BY_NAME, unless = "#result == null")
+    @Query("select r.id from Recipe r where r.name = :name")
+    Optional<Long> findIdByName(String name);
+
+    @Query("select r.version from Recipe r where r.id = :recipeId")
+    Optional<Long> findVersionById(Long recipeId);
+
+    @Query("select r.name from Recipe r")
+    List<String> findAllNames();
+
+    @Query("select r.id, r.name from Recipe r")
+    List<Object[]> findAllIdsAndNames();
+
+    @Query("select r.name from Recipe r where r.name in :names")
+    Set<String> findExistingNames(Collection<String> names);
+
+    @Query("select i.ingredientName from Recipe r join r.ingredients i where r.id = :recipeId")
+    List<String> findIngredientNamesByRecipeId(Long recipeId);
+
+    @Query("select r.id, i.ingredientName from Recipe r left join r.ingredients i")
+    List<Object[]> findAllRecipeIngredientNames();
+
+    @Query("select r.id, count(distinct i.ingredientName), "
+            + "count(distinct case when i.ingredientName in :ingredientNames then i.ingredientName end) "
+            + "from Recipe r join r.ingredients i group by r.id "
+            + "having count(distinct case when i.ingredientName in :ingredientNames then i.ingredientName end) > 0")
+    List<Object[]> findPantryCoverage(Collection<String> ingredientNames);
+
+    @Query("select r.id, r.foodCategory, r.servings from Recipe r")
+    List<Object[]> findAllFacetColumns();
+
+    @Query("select r.id, r.name, r.foodCategory, r.servings, r.instructions from Recipe r")
+    Stream<Object[]> streamAllSearchableColumns();
 }
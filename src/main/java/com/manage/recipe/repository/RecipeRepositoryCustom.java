@@ -0,0 +1,59 @@
+package com.manage.recipe.repository;
+
+import com.manage.recipe.model.dao.Recipe;
+import com.manage.recipe.model.dto.RecipeView;
+import com.manage.recipe.util.RecipeCursor;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+
+public interface RecipeRepositoryCustom {
+    /**
+     * Fetches one page more row than requested instead of running a count query. With a cursor the page
+     * starts right after the cursor position (keyset paging) and the page number of pageable is ignored.
+     * The ids of the page are selected first, then only those recipes are loaded together with their ingredients,
+     * so the page is cut in the database and not in memory.
+     */
+    Slice<Recipe> findSlice(Specification<Recipe> specification, Pageable pageable, RecipeCursor cursor);
+
+    /**
+     * Runs the id query of findSlice only and returns the keyset position of every recipe of the page,
+     * the last one is the cursor of the next page.
+     */
+    Slice<RecipeCursor> findSlicePositions(Specification<Recipe> specification, Pageable pageable, RecipeCursor cursor);
+
+    /**
+     * Reads the given recipes as RecipeView records with two scalar queries, one for the recipe columns and one
+     * for the ingredient names. Views come back in the order of the ids, ids without a recipe are skipped.
+     */
+    List<RecipeView> findViews(List<Long> recipeIds);
+
+    /**
+     * Reads all recipes as RecipeView records ordered by id, with two scalar queries.
+     */
+    List<RecipeView> findAllViews();
+
+    /**
+     * Hands every recipe to the consumer through a forward-only cursor reading fetchSize rows per round trip.
+     * Ingredients are join fetched once per fetchSize recipes. Each recipe is detached once consumed, so the
+     * persistence context does not grow. Needs a transaction.
+     */
+    void scrollAll(int fetchSize, Consumer<Recipe> recipeConsumer);
+
+    /**
+     * Persists new recipes and flushes them as batched inserts, then detaches them so a long import does not
+     * grow the persistence context. The ids are assigned on return. Needs a transaction.
+     */
+    void insertAll(List<Recipe> recipes);
+
+    /**
+     * Deletes the given recipes with bulk DELETE statements, their join rows and ingredients included, without
+     * loading any entity. A RecipeChangeEvent is published for every deleted recipe, as entity listeners do not
+     * see bulk statements. Needs a transaction.
+     * @return ids of the recipes that existed and were deleted
+     */
+    List<Long> deleteAllByIds(Collection<Long> recipeIds);
+}
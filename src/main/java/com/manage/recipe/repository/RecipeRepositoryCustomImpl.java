@@ -0,0 +1,314 @@
+package com.manage.recipe.repository;
+
+import com.manage.recipe.event.RecipeChangeEvent;
+import com.manage.recipe.exception.InvalidRecipeRequestException;
+import com.manage.recipe.model.FoodCategory;
+import com.manage.recipe.model.dao.Recipe;
+import com.manage.recipe.model.dto.RecipeView;
+import com.manage.recipe.util.RecipeCursor;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+/**
+ * This class holds the hand written queries of RecipeRepository.
+ */
+public class RecipeRepositoryCustomImpl implements RecipeRepositoryCustom {
+    private static final String RECIPE_ID = "id";
+    private static final String VIEW_COLUMNS =
+            "select r.id, r.name, r.foodCategory, r.servings, r.instructions, r.version from Recipe r";
+    private static final String INGREDIENT_NAMES = "select r.id, i.ingredientName from Recipe r join r.ingredients i";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    public RecipeRepositoryCustomImpl(ApplicationEventPublisher applicationEventPublisher) {
+        this.applicationEventPublisher = applicationEventPublisher;
+    }
+
+    @Override
+    public Slice<Recipe> findSlice(Specification<Recipe> specification, Pageable pageable, RecipeCursor cursor) {
+        Slice<RecipeCursor> positions = findSlicePositions(specification, pageable, cursor);
+        List<Long> recipeIds =
+                positions.getContent().stream().map(RecipeCursor::recipeId).toList();
+        return new SliceImpl<>(findAllWithIngredients(recipeIds), pageable, positions.hasNext());
+    }
+
+    @Override
+    public Slice<RecipeCursor> findSlicePositions(
+            Specification<Recipe> specification, Pageable pageable, RecipeCursor cursor) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Object[]> query = criteriaBuilder.createQuery(Object[].class);
+        Root<Recipe> reciperoot = query.from(Recipe.class);
+        Sort.Order order = pageable.getSort().stream().findFirst().orElse(Sort.Order.asc(RECIPE_ID));
+        Sort sort = RECIPE_ID.equals(order.getProperty())
+                ? Sort.by(order)
+                : Sort.by(order, new Sort.Order(order.getDirection(), RECIPE_ID));
+
+        List<Predicate> predicates = new ArrayList<>();
+        Predicate specificationPredicate =
+                specification == null ? null : specification.toPredicate(reciperoot, query, criteriaBuilder);
+        if (specificationPredicate != null) {
+            predicates.add(specificationPredicate);
+        }
+        if (cursor != null) {
+            predicates.add(keysetPredicate(reciperoot, criteriaBuilder, order, cursor));
+        }
+        // the sort key is selected too, a distinct query may only order by selected columns
+        query.multiselect(reciperoot.get(RECIPE_ID), reciperoot.get(order.getProperty()))
+                .distinct(true)
+                .where(predicates.toArray(new Predicate[0]))
+                .orderBy(QueryUtils.toOrders(sort, reciperoot, criteriaBuilder));
+
+        TypedQuery<Object[]> typedQuery = entityManager.createQuery(query);
+        if (pageable.isUnpaged()) {
+            return new SliceImpl<>(toPositions(typedQuery.getResultList()), pageable, false);
+        }
+        if (cursor == null) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+        }
+        typedQuery.setMaxResults(pageable.getPageSize() + 1);
+        List<RecipeCursor> positions = toPositions(typedQuery.getResultList());
+        boolean hasNext = positions.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? positions.subList(0, pageable.getPageSize()) : positions, pageable, hasNext);
+    }
+
+    @Override
+    public List<RecipeView> findViews(List<Long> recipeIds) {
+        if (recipeIds.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, List<String>> ingredientNames = toIngredientNames(entityManager
+                .createQuery(INGREDIENT_NAMES + " where r.id in :recipeIds order by i.id", Object[].class)
+                .setParameter("recipeIds", recipeIds)
+                .getResultList());
+        Map<Long, RecipeView> viewsById = entityManager
+                .createQuery(VIEW_COLUMNS + " where r.id in :recipeIds", Object[].class)
+                .setParameter("recipeIds", recipeIds)
+                .getResultList()
+                .stream()
+                .map(row -> toView(row, ingredientNames))
+                .collect(Collectors.toMap(RecipeView::recipeId, Function.identity()));
+        return recipeIds.stream()
+                .filter(viewsById::containsKey)
+                .map(viewsById::get)
+                .toList();
+    }
+
+    @Override
+    public List<RecipeView> findAllViews() {
+        Map<Long, List<String>> ingredientNames = toIngredientNames(entityManager
+                .createQuery(INGREDIENT_NAMES + " order by i.id", Object[].class)
+                .getResultList());
+        return entityManager.createQuery(VIEW_COLUMNS + " order by r.id", Object[].class).getResultList().stream()
+                .map(row -> toView(row, ingredientNames))
+                .toList();
+    }
+
+    @Override
+    public void scrollAll(int fetchSize, Consumer<Recipe> recipeConsumer) {
+        List<Recipe> chunk = new ArrayList<>(fetchSize);
+        try (Stream<Recipe> recipes = entityManager
+                .createQuery("select r from Recipe r order by r.id", Recipe.class)
+                .setHint(AvailableHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(AvailableHints.HINT_READ_ONLY, true)
+                .getResultStream()) {
+            recipes.forEach(recipe -> {
+                chunk.add(recipe);
+                if (chunk.size() == fetchSize) {
+                    consumeChunk(chunk, recipeConsumer);
+                }
+            });
+        }
+        consumeChunk(chunk, recipeConsumer);
+    }
+
+    @Override
+    public void insertAll(List<Recipe> recipes) {
+        recipes.forEach(entityManager::persist);
+        entityManager.flush();
+        recipes.forEach(entityManager::detach);
+    }
+
+    @Override
+    public List<Long> deleteAllByIds(Collection<Long> recipeIds) {
+        if (recipeIds.isEmpty()) {
+            return List.of();
+        }
+        entityManager.flush();
+        Map<Long, String> deletedNames = new LinkedHashMap<>();
+        entityManager
+                .createQuery("select r.id, r.name from Recipe r where r.id in :recipeIds", Object[].class)
+                .setParameter("recipeIds", recipeIds)
+                .getResultList()
+                .forEach(row -> deletedNames.put((Long) row[0], (String) row[1]));
+        if (deletedNames.isEmpty()) {
+            return List.of();
+        }
+        List<Long> deletedIds = List.copyOf(deletedNames.keySet());
+        List<Long> ingredientIds = entityManager
+                .createQuery("select i.id from Recipe r join r.ingredients i where r.id in :recipeIds", Long.class)
+                .setParameter("recipeIds", deletedIds)
+                .getResultList();
+        entityManager
+                .createNativeQuery("delete from " + Recipe.INGREDIENTS_JOIN_TABLE + " where "
+                        + Recipe.INGREDIENTS_JOIN_COLUMN + " in (:recipeIds)")
+                .setParameter("recipeIds", deletedIds)
+                .executeUpdate();
+        if (!ingredientIds.isEmpty()) {
+            entityManager
+                    .createQuery("delete from Ingredient i where i.id in :ingredientIds")
+                    .setParameter("ingredientIds", ingredientIds)
+                    .executeUpdate();
+        }
+        entityManager
+                .createQuery("delete from Recipe r where r.id in :recipeIds")
+                .setParameter("recipeIds", deletedIds)
+                .executeUpdate();
+        // managed copies of the deleted recipes would be stale now
+        entityManager.clear();
+        deletedNames.forEach((recipeId, name) -> applicationEventPublisher.publishEvent(
+                new RecipeChangeEvent(recipeId, RecipeChangeEvent.ChangeType.REMOVED, null, name)));
+        return deletedIds;
+    }
+
+    /**
+     * Loads the ingredients of a whole chunk with one join fetch, which initializes the collections of the
+     * already managed recipes, then hands the chunk over and detaches it.
+     */
+    private void consumeChunk(List<Recipe> chunk, Consumer<Recipe> recipeConsumer) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        fetchIngredients(chunk.stream().map(Recipe::getId).toList());
+        chunk.forEach(recipe -> {
+            recipeConsumer.accept(recipe);
+            entityManager.detach(recipe);
+        });
+        chunk.clear();
+    }
+
+    /**
+     * Second phase of a paged search: hydrates the recipes of one page of ids together with their
+     * ingredients in a single statement and returns them in the order of the ids.
+     */
+    private List<Recipe> findAllWithIngredients(List<Long> recipeIds) {
+        if (recipeIds.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Recipe> recipesById =
+                fetchIngredients(recipeIds).stream().collect(Collectors.toMap(Recipe::getId, Function.identity()));
+        return recipeIds.stream()
+                .filter(recipesById::containsKey)
+                .map(recipesById::get)
+                .toList();
+    }
+
+    private List<Recipe> fetchIngredients(List<Long> recipeIds) {
+        return entityManager
+                .createQuery(
+                        "select distinct r from Recipe r left join fetch r.ingredients where r.id in :recipeIds",
+                        Recipe.class)
+                .setParameter("recipeIds", recipeIds)
+                .getResultList();
+    }
+
+    /**
+     * Rows of the id query hold the recipe id and the value of the sort key, which may be NULL.
+     */
+    private List<RecipeCursor> toPositions(List<Object[]> rows) {
+        return rows.stream()
+                .map(row -> new RecipeCursor((Long) row[0], row[1] == null ? null : String.valueOf(row[1])))
+                .toList();
+    }
+
+    private Map<Long, List<String>> toIngredientNames(List<Object[]> rows) {
+        Map<Long, List<String>> ingredientNames = new HashMap<>();
+        rows.forEach(row -> ingredientNames
+                .computeIfAbsent((Long) row[0], recipeId -> new ArrayList<>())
+                .add((String) row[1]));
+        return ingredientNames;
+    }
+
+    private RecipeView toView(Object[] row, Map<Long, List<String>> ingredientNames) {
+        Long recipeId = (Long) row[0];
+        return new RecipeView(
+                recipeId,
+                (String) row[1],
+                (FoodCategory) row[2],
+                (Integer) row[3],
+                (String) row[4],
+                (Long) row[5],
+                List.copyOf(ingredientNames.getOrDefault(recipeId, List.of())));
+    }
+
+    private Predicate keysetPredicate(
+            Root<Recipe> reciperoot, CriteriaBuilder criteriaBuilder, Sort.Order order, RecipeCursor cursor) {
+        Path<Long> idPath = reciperoot.get(RECIPE_ID);
+        Predicate afterId = order.isDescending()
+                ? criteriaBuilder.lessThan(idPath, cursor.recipeId())
+                : criteriaBuilder.greaterThan(idPath, cursor.recipeId());
+        if (RECIPE_ID.equals(order.getProperty())) {
+            return afterId;
+        }
+        Path<Comparable<Object>> sortPath = reciperoot.get(order.getProperty());
+        // H2 sorts NULL below every value: NULLs come first ascending and last descending
+        boolean nullsFirst = !order.isDescending();
+        if (cursor.sortValue() == null) {
+            Predicate afterIdAmongNulls = criteriaBuilder.and(criteriaBuilder.isNull(sortPath), afterId);
+            return nullsFirst
+                    ? criteriaBuilder.or(afterIdAmongNulls, criteriaBuilder.isNotNull(sortPath))
+                    : afterIdAmongNulls;
+        }
+        Comparable<Object> sortValue = toSortValue(cursor.sortValue(), sortPath.getJavaType());
+        Predicate afterSortValue = order.isDescending()
+                ? criteriaBuilder.lessThan(sortPath, sortValue)
+                : criteriaBuilder.greaterThan(sortPath, sortValue);
+        Predicate afterPosition = criteriaBuilder.or(
+                afterSortValue, criteriaBuilder.and(criteriaBuilder.equal(sortPath, sortValue), afterId));
+        return nullsFirst ? afterPosition : criteriaBuilder.or(afterPosition, criteriaBuilder.isNull(sortPath));
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Comparable<Object> toSortValue(String sortValue, Class<?> sortType) {
+        try {
+            if (sortType == Long.class || sortType == long.class) {
+                return (Comparable) Long.valueOf(sortValue);
+            }
+            if (sortType == Integer.class || sortType == int.class) {
+                return (Comparable) Integer.valueOf(sortValue);
+            }
+            if (sortType.isEnum()) {
+                return (Comparable) Enum.valueOf((Class<Enum>) sortType, sortValue);
+            }
+        } catch (IllegalArgumentException exception) {
+            throw new InvalidRecipeRequestException("Invalid search cursor");
+        }
+        return (Comparable) sortValue;
+    }
+}
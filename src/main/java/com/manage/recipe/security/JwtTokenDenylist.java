@@ -0,0 +1,31 @@
+package com.manage.recipe.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * This class holds the ids of revoked tokens. A token can not outlive recipe.jwt.ttl,
+ * so an id is only kept for that long after its revocation.
+ */
+@Component
+public class JwtTokenDenylist {
+
+    private final Cache<String, Boolean> revokedTokenIds;
+
+    public JwtTokenDenylist(@Value("${recipe.jwt.ttl:10m}") Duration tokenTtl) {
+        this.revokedTokenIds = Caffeine.newBuilder().expireAfterWrite(tokenTtl).build();
+    }
+
+    public void revoke(String tokenId) {
+        if (tokenId != null) {
+            revokedTokenIds.put(tokenId, Boolean.TRUE);
+        }
+    }
+
+    public boolean isRevoked(String tokenId) {
+        return tokenId != null && revokedTokenIds.getIfPresent(tokenId) != null;
+    }
+}
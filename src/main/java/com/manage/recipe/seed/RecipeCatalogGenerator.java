@@ -0,0 +1,112 @@
+package com.manage.recipe.seed;
+
+import com.manage.recipe.model.FoodCategory;
+import com.manage.recipe.model.dao.Ingredient;
+import com.manage.recipe.model.dao.Recipe;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * This class generates a synthetic recipe catalog. Ingredient popularity follows a Zipf distribution over an
+ * ingredient vocabulary, so a few ingredients are used by most recipes like salt or onion are in real ones.
+ * The same seed always produces the same catalog.
+ */
+public class RecipeCatalogGenerator {
+    public static final String INGREDIENT_PREFIX = "ingredient";
+    private static final String[] INSTRUCTION_WORDS = {
+        "chop", "stir", "bake", "boil", "simmer", "fry", "grill", "roast", "whisk", "knead", "season", "slice",
+        "oven", "pan", "pot", "minutes", "until", "golden", "tender", "gently", "serve", "warm", "mix", "bowl"
+    };
+    private static final FoodCategory[] FOOD_CATEGORIES = FoodCategory.values();
+
+    private final Random random;
+    private final double[] ingredientCumulativeProbability;
+    private final int minIngredients;
+    private final int maxIngredients;
+    private final int minInstructionWords;
+    private final int maxInstructionWords;
+
+    public RecipeCatalogGenerator(
+            long seed,
+            int ingredientVocabulary,
+            double zipfExponent,
+            int minIngredients,
+            int maxIngredients,
+            int minInstructionWords,
+            int maxInstructionWords) {
+        this.random = new Random(seed);
+        this.ingredientCumulativeProbability = zipfCumulativeProbability(ingredientVocabulary, zipfExponent);
+        this.minIngredients = minIngredients;
+        this.maxIngredients = Math.min(maxIngredients, ingredientVocabulary);
+        this.minInstructionWords = minInstructionWords;
+        this.maxInstructionWords = maxInstructionWords;
+    }
+
+    /**
+     * This method generates the next recipe of the catalog.
+     * @param position position of the recipe in the catalog, makes the recipe name unique
+     * @return A new Recipe without id
+     */
+    public Recipe nextRecipe(long position) {
+        int numberOfIngredients = between(minIngredients, maxIngredients);
+        Set<String> ingredientNames = new LinkedHashSet<>();
+        while (ingredientNames.size() < numberOfIngredients) {
+            ingredientNames.add(ingredientName(nextIngredientRank()));
+        }
+        List<Ingredient> ingredients = new ArrayList<>(numberOfIngredients);
+        ingredientNames.forEach(ingredientName -> ingredients.add(
+                Ingredient.builder().ingredientName(ingredientName).build()));
+        return Recipe.builder()
+                .name("recipe-" + position)
+                .foodCategory(FOOD_CATEGORIES[random.nextInt(FOOD_CATEGORIES.length)])
+                .servings(between(1, 8))
+                .ingredients(ingredients)
+                .instructions(instructions(between(minInstructionWords, maxInstructionWords)))
+                .build();
+    }
+
+    /**
+     * This method draws an ingredient popularity rank, rank 1 being the most used ingredient.
+     */
+    public int nextIngredientRank() {
+        int index = Arrays.binarySearch(ingredientCumulativeProbability, random.nextDouble());
+        return (index >= 0 ? index : -index - 1) + 1;
+    }
+
+    public static String ingredientName(int rank) {
+        return INGREDIENT_PREFIX + rank;
+    }
+
+    private String instructions(int numberOfWords) {
+        StringBuilder instructions = new StringBuilder();
+        for (int word = 0; word < numberOfWords; word++) {
+            if (word > 0) {
+                instructions.append(' ');
+            }
+            instructions.append(INSTRUCTION_WORDS[random.nextInt(INSTRUCTION_WORDS.length)]);
+        }
+        return instructions.toString();
+    }
+
+    private int between(int min, int max) {
+        return min + random.nextInt(max - min + 1);
+    }
+
+    private static double[] zipfCumulativeProbability(int vocabulary, double exponent) {
+        double[] cumulative = new double[vocabulary];
+        double total = 0;
+        for (int rank = 1; rank <= vocabulary; rank++) {
+            total += 1 / Math.pow(rank, exponent);
+            cumulative[rank - 1] = total;
+        }
+        for (int rank = 0; rank < vocabulary; rank++) {
+            cumulative[rank] /= total;
+        }
+        cumulative[vocabulary - 1] = 1.0;
+        return cumulative;
+    }
+}
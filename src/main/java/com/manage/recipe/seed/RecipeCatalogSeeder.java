@@ -0,0 +1,83 @@
+package com.manage.recipe.seed;
+
+import com.manage.recipe.model.dao.Recipe;
+import com.manage.recipe.repository.RecipeRepository;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * This class seeds the database with a synthetic catalog when the application runs with the seed profile,
+ * e.g. --spring.profiles.active=seed --recipe.seed.recipes=100000. Recipes are written through RecipeRepository
+ * in chunks, each chunk in its own transaction.
+ */
+@Component
+@Profile("seed")
+@Slf4j
+public class RecipeCatalogSeeder implements ApplicationRunner {
+
+    private final RecipeRepository recipeRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${recipe.seed.recipes:10000}")
+    private long recipes;
+
+    @Value("${recipe.seed.ingredientVocabulary:2000}")
+    private int ingredientVocabulary;
+
+    @Value("${recipe.seed.zipfExponent:1.0}")
+    private double zipfExponent;
+
+    @Value("${recipe.seed.minIngredients:3}")
+    private int minIngredients;
+
+    @Value("${recipe.seed.maxIngredients:12}")
+    private int maxIngredients;
+
+    @Value("${recipe.seed.minInstructionWords:20}")
+    private int minInstructionWords;
+
+    @Value("${recipe.seed.maxInstructionWords:200}")
+    private int maxInstructionWords;
+
+    @Value("${recipe.seed.randomSeed:42}")
+    private long randomSeed;
+
+    @Value("${recipe.seed.chunkSize:1000}")
+    private int chunkSize;
+
+    public RecipeCatalogSeeder(RecipeRepository recipeRepository, TransactionTemplate transactionTemplate) {
+        this.recipeRepository = recipeRepository;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long existingRecipes = recipeRepository.count();
+        RecipeCatalogGenerator recipeCatalogGenerator = new RecipeCatalogGenerator(
+                randomSeed,
+                ingredientVocabulary,
+                zipfExponent,
+                minIngredients,
+                maxIngredients,
+                minInstructionWords,
+                maxInstructionWords);
+        log.info("Seeding {} recipes over {} ingredients", recipes, ingredientVocabulary);
+        long startTime = System.currentTimeMillis();
+        for (long from = 0; from < recipes; from += chunkSize) {
+            List<Recipe> chunk = new ArrayList<>(chunkSize);
+            for (long position = from; position < Math.min(from + chunkSize, recipes); position++) {
+                chunk.add(recipeCatalogGenerator.nextRecipe(existingRecipes + position));
+            }
+            transactionTemplate.executeWithoutResult(transactionStatus -> recipeRepository.insertAll(chunk));
+            log.debug("Seeded {} recipes", from + chunk.size());
+        }
+        log.info("Seeded {} recipes in {} ms", recipes, System.currentTimeMillis() - startTime);
+    }
+}
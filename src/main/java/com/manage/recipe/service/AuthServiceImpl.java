@@ -1,13 +1,16 @@
 package com.manage.recipe.service;
 
 import com.manage.recipe.model.dto.AuthRequestDTO;
+import com.manage.recipe.security.JwtTokenDenylist;
 import com.manage.recipe.service.auth.AuthService;
 import com.manage.recipe.service.auth.JwtService;
+import io.jsonwebtoken.Claims;
 import java.util.Map;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
@@ -17,6 +20,7 @@ import org.springframework.stereotype.Service;
 public class AuthServiceImpl implements AuthService {
     private final AuthenticationManager authenticationManager;
     private final JwtService jwtService;
+    private final JwtTokenDenylist jwtTokenDenylist;
 
     @Override
     public Map<String, String> authRequest(AuthRequestDTO authRequestDTO) {
@@ -26,8 +30,15 @@ public class AuthServiceImpl implements AuthService {
         return getToken(userDetails);
     }
 
+    @Override
+    public void revokeToken(String token) {
+        jwtService.verifyToken(token).map(Claims::getId).ifPresent(jwtTokenDenylist::revoke);
+    }
+
     public Map<String, String> getToken(UserDetails userDetails) {
-        final var roles = userDetails.getAuthorities();
+        final var roles = userDetails.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .toList();
         final var username = userDetails.getUsername();
         final var token = jwtService.generateToken(Map.of("role", roles), username);
         return Map.of("token", token);
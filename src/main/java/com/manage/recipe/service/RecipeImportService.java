@@ -0,0 +1,216 @@
+package com.manage.recipe.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.manage.recipe.index.RecipeNameFilter;
+import com.manage.recipe.model.dao.Recipe;
+import com.manage.recipe.model.dto.RecipeDTO;
+import com.manage.recipe.model.dto.RecipeImportResponseDTO;
+import com.manage.recipe.model.dto.RecipeImportResultDTO;
+import com.manage.recipe.repository.RecipeRepository;
+import com.manage.recipe.util.RecipeModelMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * This service class holds the bulk import logic of recipe manager service.
+ */
+@Service
+@Slf4j
+public class RecipeImportService {
+    private static final String SAVE_FAILED = "Recipe could not be saved";
+    private static final String MALFORMED = "Malformed recipe JSON";
+
+    private final RecipeRepository recipeRepository;
+    private final RecipeModelMapper recipeModelMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final RecipeNameFilter recipeNameFilter;
+    private final ObjectReader recipeReader;
+
+    @Value("${recipe.import.chunkSize:500}")
+    private int chunkSize;
+
+    public RecipeImportService(
+            RecipeRepository recipeRepository,
+            RecipeModelMapper recipeModelMapper,
+            TransactionTemplate transactionTemplate,
+            Validator validator,
+            RecipeNameFilter recipeNameFilter,
+            ObjectMapper objectMapper) {
+        this.recipeRepository = recipeRepository;
+        this.recipeModelMapper = recipeModelMapper;
+        this.transactionTemplate = transactionTemplate;
+        this.validator = validator;
+        this.recipeNameFilter = recipeNameFilter;
+        this.recipeReader = objectMapper.readerFor(RecipeDTO.class);
+    }
+    /**
+     * @brief This method imports recipes in chunks of recipe.import.chunkSize, each chunk in its own transaction.
+     *        Names of a chunk that may already exist according to the name filter are checked against the
+     *        database with one query, definitely new names are not looked up at all, and the valid recipes are
+     *        written with batched inserts. Invalid recipes are reported and skipped, they do not fail the import.
+     * @param recipeDTOs recipes in import order, read lazily so an import stream is never held in memory
+     * @return RecipeImportResponseDTO object with one result per imported item, in import order
+     */
+    public RecipeImportResponseDTO importRecipes(Iterator<RecipeDTO> recipeDTOs) {
+        return importItems(recipeDTOs, ImportItem::of);
+    }
+
+    /**
+     * @brief This method imports recipes like importRecipes, one JSON document per line. A malformed line is
+     *        reported as a rejected item like an invalid recipe, the lines around it are still imported.
+     * @param recipeLines non blank lines of a newline delimited JSON stream, read lazily
+     * @return RecipeImportResponseDTO object with one result per line, in stream order
+     */
+    public RecipeImportResponseDTO importRecipeLines(Iterator<String> recipeLines) {
+        return importItems(recipeLines, this::parse);
+    }
+
+    private <T> RecipeImportResponseDTO importItems(Iterator<T> sources, Function<T, ImportItem> toImportItem) {
+        log.info("Bulk import of recipes started");
+        List<RecipeImportResultDTO> results = new ArrayList<>();
+        Set<String> importedNames = new HashSet<>();
+        List<ImportItem> chunk = new ArrayList<>(chunkSize);
+        while (sources.hasNext()) {
+            chunk.add(toImportItem.apply(sources.next()));
+            if (chunk.size() == chunkSize) {
+                importChunk(chunk, importedNames, results);
+                chunk.clear();
+            }
+        }
+        importChunk(chunk, importedNames, results);
+        int created = (int) results.stream()
+                .filter(result -> result.getImportStatus() == RecipeImportResultDTO.ImportStatus.CREATED)
+                .count();
+        log.info("Bulk import of recipes finished, {} created, {} rejected", created, results.size() - created);
+        return RecipeImportResponseDTO.builder()
+                .status(HttpStatus.OK.value())
+                .created(created)
+                .rejected(results.size() - created)
+                .results(results)
+                .build();
+    }
+
+    private ImportItem parse(String recipeLine) {
+        try {
+            return ImportItem.of(recipeReader.readValue(recipeLine));
+        } catch (JsonProcessingException jsonProcessingException) {
+            log.error("Malformed recipe in import stream {}", jsonProcessingException.getOriginalMessage());
+            return new ImportItem(null, MALFORMED);
+        }
+    }
+
+    private void importChunk(List<ImportItem> chunk, Set<String> importedNames, List<RecipeImportResultDTO> results) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        int firstIndex = results.size();
+        List<RecipeImportResultDTO> chunkResults = new ArrayList<>(chunk.size());
+        List<Recipe> recipes = new ArrayList<>(chunk.size());
+        List<RecipeImportResultDTO> createdResults = new ArrayList<>(chunk.size());
+        try {
+            transactionTemplate.executeWithoutResult(transactionStatus -> {
+                Set<String> possiblyExistingNames = chunk.stream()
+                        .map(ImportItem::recipeDTO)
+                        .filter(Objects::nonNull)
+                        .map(RecipeDTO::getName)
+                        .filter(name -> name != null && recipeNameFilter.mightContain(name))
+                        .collect(Collectors.toSet());
+                Set<String> existingNames = possiblyExistingNames.isEmpty()
+                        ? Set.of()
+                        : recipeRepository.findExistingNames(possiblyExistingNames);
+                for (int position = 0; position < chunk.size(); position++) {
+                    RecipeDTO recipeDTO = chunk.get(position).recipeDTO();
+                    String error = chunk.get(position).error() != null
+                            ? chunk.get(position).error()
+                            : validate(recipeDTO, importedNames, existingNames);
+                    RecipeImportResultDTO result = RecipeImportResultDTO.builder()
+                            .index(firstIndex + position)
+                            .name(recipeDTO == null ? null : recipeDTO.getName())
+                            .importStatus(
+                                    error == null
+                                            ? RecipeImportResultDTO.ImportStatus.CREATED
+                                            : RecipeImportResultDTO.ImportStatus.REJECTED)
+                            .error(error)
+                            .build();
+                    chunkResults.add(result);
+                    if (error == null) {
+                        importedNames.add(recipeDTO.getName());
+                        recipes.add(recipeModelMapper.mapToRecipe(recipeDTO));
+                        createdResults.add(result);
+                    }
+                }
+                if (!recipes.isEmpty()) {
+                    recipeRepository.insertAll(recipes);
+                }
+            });
+        } catch (DataAccessException dataAccessException) {
+            log.error("Bulk import chunk starting at {} failed {}", firstIndex, dataAccessException.getMessage());
+            createdResults.forEach(result -> {
+                importedNames.remove(result.getName());
+                result.setImportStatus(RecipeImportResultDTO.ImportStatus.REJECTED);
+                result.setError(SAVE_FAILED);
+            });
+            for (int position = chunkResults.size(); position < chunk.size(); position++) {
+                RecipeDTO recipeDTO = chunk.get(position).recipeDTO();
+                chunkResults.add(RecipeImportResultDTO.builder()
+                        .index(firstIndex + position)
+                        .name(recipeDTO == null ? null : recipeDTO.getName())
+                        .importStatus(RecipeImportResultDTO.ImportStatus.REJECTED)
+                        .error(SAVE_FAILED)
+                        .build());
+            }
+            results.addAll(chunkResults);
+            return;
+        }
+        for (int position = 0; position < recipes.size(); position++) {
+            createdResults.get(position).setRecipeId(recipes.get(position).getId());
+        }
+        results.addAll(chunkResults);
+    }
+
+    private String validate(RecipeDTO recipeDTO, Set<String> importedNames, Set<String> existingNames) {
+        if (recipeDTO == null) {
+            return "Recipe can not be null";
+        }
+        Set<ConstraintViolation<RecipeDTO>> violations = validator.validate(recipeDTO);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining(", "));
+        }
+        if (existingNames.contains(recipeDTO.getName())) {
+            return "Recipe name already exists";
+        }
+        if (importedNames.contains(recipeDTO.getName())) {
+            return "Recipe name is repeated in the import";
+        }
+        return null;
+    }
+
+    /**
+     * One item of an import, the recipe or the error that kept it from being read.
+     */
+    private record ImportItem(RecipeDTO recipeDTO, String error) {
+        static ImportItem of(RecipeDTO recipeDTO) {
+            return new ImportItem(recipeDTO, null);
+        }
+    }
+}
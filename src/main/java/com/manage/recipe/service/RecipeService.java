@@ -1,20 +1,61 @@
 package com.manage.recipe.service;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.manage.recipe.configuration.CacheConfig;
 import com.manage.recipe.exception.InvalidRecipeRequestException;
+import com.manage.recipe.exception.RecipeModifiedException;
 import com.manage.recipe.exception.RecipeNotFoundException;
+import com.manage.recipe.index.PantryMatch;
+import com.manage.recipe.index.RecipeFacetIndex;
+import com.manage.recipe.index.RecipeFullTextIndex;
+import com.manage.recipe.index.RecipeIngredientIndex;
+import com.manage.recipe.index.RecipeNameFilter;
+import com.manage.recipe.index.RecipeSuggestionIndex;
+import com.manage.recipe.metrics.RecipeSearchMetrics;
 import com.manage.recipe.model.dao.Recipe;
+import com.manage.recipe.model.dto.PantryMatchDTO;
+import com.manage.recipe.model.dto.PantryMatchRequestDTO;
+import com.manage.recipe.model.dto.PantryMatchResponseDTO;
 import com.manage.recipe.model.dto.RecipeDTO;
+import com.manage.recipe.model.dto.RecipeFacetsDTO;
 import com.manage.recipe.model.dto.RecipeFilterSearchDTO;
+import com.manage.recipe.model.dto.RecipeRemovalResponseDTO;
+import com.manage.recipe.model.dto.RecipeRemovalResultDTO;
 import com.manage.recipe.model.dto.RecipeResponseDTO;
+import com.manage.recipe.model.dto.RecipeSuggestionResponseDTO;
+import com.manage.recipe.model.dto.RecipeView;
 import com.manage.recipe.repository.RecipeRepository;
+import com.manage.recipe.util.RecipeCursor;
 import com.manage.recipe.util.RecipeModelMapper;
+import com.manage.recipe.util.RecipeSearchKeyGenerator;
 import com.manage.recipe.util.RecipeSearchSpecifications;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
+import org.roaringbitmap.longlong.Roaring64NavigableMap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 /**
  * This service class holds the business logic of recipe manager service.
@@ -28,20 +69,62 @@ public class RecipeService {
     private final RecipeRepository recipeRepository;
     private final RecipeModelMapper recipeModelMapper;
     private final RecipeSearchSpecifications recipeSearchSpecifications;
+    private final RecipeIngredientIndex recipeIngredientIndex;
+    private final RecipeFullTextIndex recipeFullTextIndex;
+    private final RecipeSearchMetrics recipeSearchMetrics;
+    private final RecipeNameFilter recipeNameFilter;
+    private final RecipeFacetIndex recipeFacetIndex;
+    private final RecipeSuggestionIndex recipeSuggestionIndex;
+    private final CacheManager cacheManager;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+
+    @Value("${recipe.stream.fetchSize:500}")
+    private int streamFetchSize;
+
+    @Value("${recipe.delete.maxIds:1000}")
+    private int deleteMaxIds;
+
+    @Value("${recipe.facets.topIngredients:10}")
+    private int facetTopIngredients;
+
+    @Value("${recipe.pantry.defaultLimit:10}")
+    private int pantryDefaultLimit;
+
+    @Value("${recipe.pantry.maxLimit:100}")
+    private int pantryMaxLimit;
 
     public RecipeService(
             RecipeRepository recipeRepository,
             RecipeModelMapper recipeModelMapper,
-            RecipeSearchSpecifications recipeSearchSpecifications) {
+            RecipeSearchSpecifications recipeSearchSpecifications,
+            RecipeIngredientIndex recipeIngredientIndex,
+            RecipeFullTextIndex recipeFullTextIndex,
+            RecipeSearchMetrics recipeSearchMetrics,
+            RecipeNameFilter recipeNameFilter,
+            RecipeFacetIndex recipeFacetIndex,
+            RecipeSuggestionIndex recipeSuggestionIndex,
+            CacheManager cacheManager,
+            PlatformTransactionManager transactionManager) {
         this.recipeRepository = recipeRepository;
         this.recipeModelMapper = recipeModelMapper;
         this.recipeSearchSpecifications = recipeSearchSpecifications;
+        this.recipeIngredientIndex = recipeIngredientIndex;
+        this.recipeFullTextIndex = recipeFullTextIndex;
+        this.recipeSearchMetrics = recipeSearchMetrics;
+        this.recipeNameFilter = recipeNameFilter;
+        this.recipeFacetIndex = recipeFacetIndex;
+        this.recipeSuggestionIndex = recipeSuggestionIndex;
+        this.cacheManager = cacheManager;
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
     }
     /**
      * @author AnantDibakar
      * @date 26/07/2023
      * @brief This method create a Recipe object . DTO object is converted to DAO before saving to database
      *         and DAO object is converted to DTO for presentation layer.
+     *         A name the name filter has never seen is inserted straight away, the unique index on recipe_name
+     *         rejects a concurrent duplicate. Only names that may exist are looked up first.
      * @param  recipeDTO
      * @throws InvalidRecipeRequestException when recipe name is null/empty or existing name.
      * @return RecipeDTO object
@@ -52,80 +135,513 @@ public class RecipeService {
             log.error("Recipe name can not be null or empty");
             throw new InvalidRecipeRequestException("Recipe name can not be null or empty");
         }
-        if (recipeRepository.findByName(recipeDTO.getName()).isPresent()) {
+        if (recipeNameFilter.mightContain(recipeDTO.getName())
+                && recipeRepository.findIdByName(recipeDTO.getName()).isPresent()) {
             log.error("Recipe name already exists");
             throw new InvalidRecipeRequestException("Recipe name already exists");
         }
-        return recipeModelMapper.mapToRecipeDTO(recipeRepository.save(recipeModelMapper.mapToRecipe(recipeDTO)));
+        try {
+            return recipeModelMapper.mapToRecipeDTO(
+                    recipeRepository.saveAndFlush(recipeModelMapper.mapToRecipe(recipeDTO)));
+        } catch (DataIntegrityViolationException dataIntegrityViolationException) {
+            throw duplicateNameOr(dataIntegrityViolationException);
+        }
     }
     /**
      * @author AnantDibakar
      * @date 26/07/2023
      * @brief This method fetches all recipe objects .
      *     Returned list is then wrapped to RecipeResponseDTO object.
+     *     Recipes are read as RecipeView records in a read-only transaction, no entity is loaded.
      * @return RecipeResponseDTO object
      */
+    @Transactional(readOnly = true)
     public RecipeResponseDTO fetchAllRecipes() {
         log.info("Fetch request for all recipes");
-        List<Recipe> recipeList = recipeRepository.findAll();
-        return recipeModelMapper.mapToRecipeDTOlist(recipeList);
+        return recipeModelMapper.mapViewsToRecipeDTOlist(recipeRepository.findAllViews());
+    }
+    /**
+     * @brief This method hands all recipes to the consumer one at a time, reading them through a forward-only
+     *        cursor, so memory stays flat regardless of the number of recipes.
+     * @param recipeConsumer receives every recipe converted to RecipeDTO
+     */
+    @Transactional(readOnly = true)
+    public void streamAllRecipes(Consumer<RecipeDTO> recipeConsumer) {
+        log.info("Stream request for all recipes");
+        recipeRepository.scrollAll(
+                streamFetchSize, recipe -> recipeConsumer.accept(recipeModelMapper.mapToRecipeDTO(recipe)));
     }
     /**
      * @author AnantDibakar
      * @date 26/07/2023
      * @brief This method fetches recipe by recipe id.
      *        Returned Recipe is then converted to  RecipeDTO for presentation layer.
+     *        Results are cached by id until the recipe is updated or removed.
+     *        A cache miss reads the recipe as a RecipeView in a read-only transaction, no entity is loaded.
+     *        A change committed between that read and the put is evicted before the put, so the version is read
+     *        again after the put and an entry that is already outdated is evicted.
      * @throws RecipeNotFoundException when no recipe found by recipe id.
      * @return RecipeDTO object
      */
     public RecipeDTO fetchRecipeById(Long recipeId) {
         log.debug("Fetching recipe by id {}", recipeId);
-        Recipe recipe = recipeRepository
-                .findById(recipeId)
+        Cache recipesById = Objects.requireNonNull(cacheManager.getCache(CacheConfig.RECIPES_BY_ID));
+        RecipeDTO cachedRecipeDTO = recipesById.get(recipeId, RecipeDTO.class);
+        if (cachedRecipeDTO != null) {
+            return cachedRecipeDTO;
+        }
+        RecipeDTO recipeDTO = readOnlyTransactionTemplate.execute(
+                transactionStatus -> recipeRepository.findViews(List.of(recipeId)).stream()
+                        .findFirst()
+                        .map(recipeModelMapper::mapToRecipeDTO)
+                        .orElseThrow(() -> new RecipeNotFoundException("Recipe not found by given Id")));
+        recipesById.put(recipeId, recipeDTO);
+        if (recipeRepository
+                .findVersionById(recipeId)
+                .filter(version -> version == recipeDTO.getVersion())
+                .isEmpty()) {
+            log.debug("Recipe {} changed while it was cached, evicting version {}", recipeId, recipeDTO.getVersion());
+            recipesById.evict(recipeId);
+        }
+        return recipeDTO;
+    }
+    /**
+     * @brief This method reads only the version of a recipe, so a conditional read can be answered
+     *        without loading or mapping the recipe.
+     * @throws RecipeNotFoundException when no recipe found by recipe id.
+     * @return version of the recipe, bumped by every update
+     */
+    public long fetchRecipeVersion(Long recipeId) {
+        return recipeRepository
+                .findVersionById(recipeId)
                 .orElseThrow(() -> new RecipeNotFoundException("Recipe not found by given Id"));
-        return recipeModelMapper.mapToRecipeDTO(recipe);
     }
     /**
      * @author AnantDibakar
      * @date 26/07/2023
      * @brief This method updates an existing recipe by recipe id.
      *        Updated Recipe is then converted to  RecipeDTO for presentation layer.
+     *        The update is flushed before mapping, so the returned RecipeDTO carries the bumped version.
      * @throws RecipeNotFoundException when no recipe found by recipe id.
+     * @throws InvalidRecipeRequestException when another recipe has the new name.
      * @return RecipeDTO object
      */
+    @CacheEvict(cacheNames = CacheConfig.RECIPES_BY_ID, key = "#recipeId")
+    @Transactional
     public RecipeDTO updateRecipe(Long recipeId, RecipeDTO recipeDTO) {
         log.debug("Updating recipe with id {}", recipeId);
         Recipe recipe = recipeRepository
                 .findById(recipeId)
                 .orElseThrow(() -> new RecipeNotFoundException("Recipe not found by given Id"));
-        return recipeModelMapper.mapToRecipeDTO(
-                recipeRepository.save(recipeModelMapper.updatedRecipe(recipe, recipeDTO)));
+        try {
+            return recipeModelMapper.mapToRecipeDTO(
+                    recipeRepository.saveAndFlush(recipeModelMapper.updatedRecipe(recipe, recipeDTO)));
+        } catch (DataIntegrityViolationException dataIntegrityViolationException) {
+            throw duplicateNameOr(dataIntegrityViolationException);
+        }
+    }
+    /**
+     * @brief This method applies a JSON Merge Patch to an existing recipe. Only the fields present in the patch
+     *        change and ingredients are diffed by name, so an edit writes only the changed rows.
+     * @param expectedVersion version the client last saw (from If-Match), null to skip the check
+     * @throws RecipeNotFoundException when no recipe found by recipe id.
+     * @throws RecipeModifiedException when the recipe changed since expectedVersion.
+     * @throws InvalidRecipeRequestException when the patch is invalid or another recipe has the new name.
+     * @return RecipeDTO object
+     */
+    @CacheEvict(cacheNames = CacheConfig.RECIPES_BY_ID, key = "#recipeId")
+    @Transactional
+    public RecipeDTO patchRecipe(Long recipeId, JsonNode mergePatch, Long expectedVersion) {
+        log.debug("Patching recipe with id {}", recipeId);
+        Recipe recipe = recipeRepository
+                .findById(recipeId)
+                .orElseThrow(() -> new RecipeNotFoundException("Recipe not found by given Id"));
+        if (expectedVersion != null && expectedVersion != recipe.getVersion()) {
+            log.error("Recipe {} is at version {}, not {}", recipeId, recipe.getVersion(), expectedVersion);
+            throw new RecipeModifiedException("Recipe was modified, fetch it again and retry");
+        }
+        try {
+            return recipeModelMapper.mapToRecipeDTO(
+                    recipeRepository.saveAndFlush(recipeModelMapper.patchedRecipe(recipe, mergePatch)));
+        } catch (DataIntegrityViolationException dataIntegrityViolationException) {
+            throw duplicateNameOr(dataIntegrityViolationException);
+        }
     }
     /**
      * @author AnantDibakar
      * @date 26/07/2023
      * @brief This method removes an existing recipe by recipe id.
+     *        The recipe is deleted by id in SQL, it is never loaded.
      * @param recipeId
      * @throws RecipeNotFoundException when no recipe found by recipe id.
      */
+    @CacheEvict(cacheNames = CacheConfig.RECIPES_BY_ID, key = "#recipeId")
+    @Transactional
     public void removeRecipe(Long recipeId) {
         log.warn("Removing recipe with id {}", recipeId);
-        Recipe recipe = recipeRepository
-                .findById(recipeId)
-                .orElseThrow(() -> new RecipeNotFoundException("Recipe not found by given Id"));
-        recipeRepository.delete(recipe);
+        if (recipeRepository.deleteAllByIds(List.of(recipeId)).isEmpty()) {
+            throw new RecipeNotFoundException("Recipe not found by given Id");
+        }
+    }
+    /**
+     * @brief This method removes a batch of recipes by id with bulk DELETE statements, without loading any of
+     *        them. Ids that do not exist are reported as not found, they do not fail the batch.
+     * @param recipeIds at most recipe.delete.maxIds ids
+     * @throws InvalidRecipeRequestException when no id or too many ids are given.
+     * @return RecipeRemovalResponseDTO object with one result per distinct id, in request order
+     */
+    @Transactional
+    public RecipeRemovalResponseDTO removeRecipes(List<Long> recipeIds) {
+        if (recipeIds == null || recipeIds.isEmpty() || recipeIds.stream().anyMatch(Objects::isNull)) {
+            log.error("Recipe ids can not be null or empty");
+            throw new InvalidRecipeRequestException("Recipe ids can not be null or empty");
+        }
+        Set<Long> distinctIds = new LinkedHashSet<>(recipeIds);
+        if (distinctIds.size() > deleteMaxIds) {
+            log.error("{} recipe ids exceed the limit of {}", distinctIds.size(), deleteMaxIds);
+            throw new InvalidRecipeRequestException("At most " + deleteMaxIds + " recipes can be removed at once");
+        }
+        log.warn("Removing recipes with ids {}", distinctIds);
+        Set<Long> deletedIds = new HashSet<>(recipeRepository.deleteAllByIds(distinctIds));
+        List<RecipeRemovalResultDTO> results = distinctIds.stream()
+                .map(recipeId -> deletedIds.contains(recipeId)
+                        ? RecipeRemovalResultDTO.builder()
+                                .recipeId(recipeId)
+                                .status(HttpStatus.NO_CONTENT.value())
+                                .build()
+                        : RecipeRemovalResultDTO.builder()
+                                .recipeId(recipeId)
+                                .status(HttpStatus.NOT_FOUND.value())
+                                .error("Recipe not found by given Id")
+                                .build())
+                .toList();
+        return RecipeRemovalResponseDTO.builder()
+                .status(HttpStatus.OK.value())
+                .removed(deletedIds.size())
+                .notFound(distinctIds.size() - deletedIds.size())
+                .results(results)
+                .build();
     }
     /**
      * @author AnantDibakar
      * @date 26/07/2023
      * @brief This method searches recipe by specifications and pageable object.
+     *        Ingredient filters are resolved against the in-memory ingredient index when it is ready,
+     *        so the database only filters the remaining columns or just hydrates the matching page.
+     *        A search text is resolved by the full-text index and results are then ranked by relevance.
      *        Returned Recipelist is then converted to  RecipeDTO for presentation layer.
+     *        It shares the cache entries of the first page of searchRecipes(filterDTO, pageable, cursor), the
+     *        call below does not go through the proxy so the cache is applied here.
      * @return RecipeResponseDTO object
      */
+    @Cacheable(cacheNames = CacheConfig.RECIPE_SEARCHES, keyGenerator = RecipeSearchKeyGenerator.NAME)
+    @Transactional(readOnly = true)
     public RecipeResponseDTO searchRecipes(RecipeFilterSearchDTO filterDTO, Pageable pageable) {
+        return searchRecipes(filterDTO, pageable, null);
+    }
+    /**
+     * @brief This method searches recipe like searchRecipes(filterDTO, pageable) but starts the page right after
+     *        the given cursor (keyset paging), so deep pages cost the same as the first one.
+     *        No count query is run, the response carries nextCursor while more results exist.
+     *        The path that served the search and its index candidates are reported to the search sample the
+     *        caller records around this cached method, see RecipeSearchMetrics.
+     *        Results are cached by normalized filter, page and cursor until the next recipe change is committed.
+     *        The page is read as RecipeView records in a read-only transaction, no entity is loaded.
+     * @param cursor nextCursor of the previous page, null for the first page
+     * @throws InvalidRecipeRequestException when the cursor is invalid or combined with a text search.
+     * @return RecipeResponseDTO object
+     */
+    @Cacheable(cacheNames = CacheConfig.RECIPE_SEARCHES, keyGenerator = RecipeSearchKeyGenerator.NAME)
+    @Transactional(readOnly = true)
+    public RecipeResponseDTO searchRecipes(RecipeFilterSearchDTO filterDTO, Pageable pageable, String cursor) {
         log.info("Search request initiated for recipe");
+        RecipeCursor recipeCursor = cursor == null ? null : RecipeCursor.decode(cursor);
+        RecipeSearchMetrics.Sample searchSample = recipeSearchMetrics.current(filterDTO);
+        return searchRecipes(filterDTO, pageable, recipeCursor, searchSample);
+    }
+
+    /**
+     * @brief This method counts the whole result of a search filter per food category, per servings bucket and
+     *        for the most used ingredients, so a client can show filter counts without a search per facet value.
+     *        The result is resolved to a bitmap by the ingredient, facet and full-text indexes and every count is
+     *        taken from that one bitmap, no GROUP BY query is run.
+     * @param filterDTO the filter of the search the facets belong to
+     * @return RecipeFacetsDTO object, null while the indexes are not built yet
+     */
+    @Transactional(readOnly = true)
+    public RecipeFacetsDTO searchFacets(RecipeFilterSearchDTO filterDTO) {
+        if (!recipeIngredientIndex.isReady()
+                || !recipeFacetIndex.isReady()
+                || (hasSearchText(filterDTO) && !recipeFullTextIndex.isReady())) {
+            log.warn("Search facets are not available until the recipe indexes are built");
+            return null;
+        }
+        Roaring64NavigableMap recipeIds =
+                recipeIngredientIndex.match(filterDTO.getIncludedIngredients(), filterDTO.getExcludedIngredients());
+        if (hasSearchText(filterDTO)) {
+            recipeIds = recipeFullTextIndex.match(filterDTO, hasIngredientFilter(filterDTO) ? recipeIds : null);
+        } else {
+            recipeFacetIndex.retain(recipeIds, filterDTO.getFoodCategoryEnum(), filterDTO.getServings());
+            if (filterDTO.getName() != null) {
+                Roaring64NavigableMap namedRecipe = new Roaring64NavigableMap();
+                recipeRepository.findIdByName(filterDTO.getName()).ifPresent(namedRecipe::addLong);
+                recipeIds.and(namedRecipe);
+            }
+        }
+        return RecipeFacetsDTO.builder()
+                .total(recipeIds.getLongCardinality())
+                .foodCategories(recipeFacetIndex.countFoodCategories(recipeIds))
+                .servings(recipeFacetIndex.countServings(recipeIds))
+                .ingredients(recipeIngredientIndex.countIngredients(recipeIds, facetTopIngredients))
+                .build();
+    }
+
+    private RecipeResponseDTO searchRecipes(
+            RecipeFilterSearchDTO filterDTO,
+            Pageable pageable,
+            RecipeCursor recipeCursor,
+            RecipeSearchMetrics.Sample searchSample) {
+        if (hasSearchText(filterDTO)
+                && recipeFullTextIndex.isReady()
+                && (!hasIngredientFilter(filterDTO) || recipeIngredientIndex.isReady())) {
+            if (recipeCursor != null) {
+                log.error("Search cursor can not be combined with a search text");
+                throw new InvalidRecipeRequestException("Search cursor can not be combined with a search text");
+            }
+            return searchRecipesWithFullTextIndex(filterDTO, pageable, searchSample);
+        }
+        if (hasIngredientFilter(filterDTO) && recipeIngredientIndex.isReady()) {
+            return searchRecipesWithIngredientIndex(filterDTO, pageable, recipeCursor, searchSample);
+        }
+        return searchRecipesInDatabase(filterDTO, pageable, recipeCursor, searchSample);
+    }
+
+    /**
+     * Resolves the whole filter to a bitmap when the facet index covers the attribute filters and pages it by id,
+     * only the ids of the page are read from the database. Any other sort, or a filter the indexes can not
+     * resolve, runs in the database with its ingredient criteria, the candidate ids are never sent to SQL.
+     */
+    private RecipeResponseDTO searchRecipesWithIngredientIndex(
+            RecipeFilterSearchDTO filterDTO,
+            Pageable pageable,
+            RecipeCursor recipeCursor,
+            RecipeSearchMetrics.Sample searchSample) {
+        if (hasAttributeFilter(filterDTO) && (hasSearchText(filterDTO) || !recipeFacetIndex.isReady())) {
+            return searchRecipesInDatabase(filterDTO, pageable, recipeCursor, searchSample);
+        }
+        Roaring64NavigableMap candidateIds =
+                recipeIngredientIndex.match(filterDTO.getIncludedIngredients(), filterDTO.getExcludedIngredients());
+        recipeFacetIndex.retain(candidateIds, filterDTO.getFoodCategoryEnum(), filterDTO.getServings());
+        if (filterDTO.getName() != null) {
+            Roaring64NavigableMap namedRecipe = new Roaring64NavigableMap();
+            recipeRepository.findIdByName(filterDTO.getName()).ifPresent(namedRecipe::addLong);
+            candidateIds.and(namedRecipe);
+        }
+        searchSample.candidates(RecipeSearchMetrics.PATH_INGREDIENT_INDEX, candidateIds.getLongCardinality());
+        if (candidateIds.isEmpty()) {
+            return recipeModelMapper.mapViewsToRecipeDTOlist(List.of());
+        }
+        Sort.Order idOrder = pageable.getSort().getOrderFor("id");
+        if (!pageable.isPaged() || !pageable.getSort().stream().allMatch(order -> order == idOrder)) {
+            return searchRecipesInDatabase(filterDTO, pageable, recipeCursor, searchSample);
+        }
+        boolean descending = idOrder != null && idOrder.isDescending();
+        long offset = pageable.getOffset();
+        if (recipeCursor != null) {
+            offset = descending
+                    ? candidateIds.getLongCardinality() - candidateIds.rankLong(recipeCursor.recipeId() - 1)
+                    : candidateIds.rankLong(recipeCursor.recipeId());
+        }
+        List<Long> pageIds = RecipeIngredientIndex.page(candidateIds, offset, pageable.getPageSize(), descending);
+        boolean hasNext = offset + pageIds.size() < candidateIds.getLongCardinality();
+        List<RecipeCursor> positions = pageIds.stream()
+                .map(recipeId -> new RecipeCursor(recipeId, String.valueOf(recipeId)))
+                .toList();
+        return mapToRecipeResponse(new SliceImpl<>(positions, pageable, hasNext));
+    }
+
+    private RecipeResponseDTO searchRecipesInDatabase(
+            RecipeFilterSearchDTO filterDTO,
+            Pageable pageable,
+            RecipeCursor recipeCursor,
+            RecipeSearchMetrics.Sample searchSample) {
         Specification<Recipe> searchSpecification = recipeSearchSpecifications.getRecipeSearchSpecification(filterDTO);
-        Page<Recipe> page = recipeRepository.findAll(searchSpecification, pageable);
-        return recipeModelMapper.mapToRecipeDTOlist(page.getContent());
+        Slice<RecipeCursor> slice = recipeRepository.findSlicePositions(searchSpecification, pageable, recipeCursor);
+        searchSample.path(RecipeSearchMetrics.PATH_DATABASE);
+        return mapToRecipeResponse(slice);
+    }
+
+    private RecipeResponseDTO searchRecipesWithFullTextIndex(
+            RecipeFilterSearchDTO filterDTO, Pageable pageable, RecipeSearchMetrics.Sample searchSample) {
+        // Lucene ranks only the top hits, the number of text matches is not known
+        searchSample.path(RecipeSearchMetrics.PATH_FULL_TEXT_INDEX);
+        Roaring64NavigableMap candidateIds = null;
+        if (hasIngredientFilter(filterDTO)) {
+            candidateIds =
+                    recipeIngredientIndex.match(filterDTO.getIncludedIngredients(), filterDTO.getExcludedIngredients());
+            if (candidateIds.isEmpty()) {
+                return recipeModelMapper.mapViewsToRecipeDTOlist(List.of());
+            }
+        }
+        List<Long> pageIds = recipeFullTextIndex.search(
+                filterDTO,
+                candidateIds,
+                pageable.isPaged() ? pageable.getOffset() : 0,
+                pageable.isPaged() ? pageable.getPageSize() : Integer.MAX_VALUE);
+        return recipeModelMapper.mapViewsToRecipeDTOlist(recipeRepository.findViews(pageIds));
+    }
+
+    /**
+     * @brief This method ranks the recipes that can be cooked, or nearly, from the given pantry by coverage
+     *        (matched / required ingredients), then by number of missing ingredients.
+     *        The ranking runs over the in-memory ingredient index with a bounded heap of the best matches, until
+     *        the index is ready the coverage is counted by the database and ranked the same way.
+     *        Only the returned recipes are read, as RecipeView records in a read-only transaction.
+     * @param pantryMatchRequestDTO pantry ingredients, optional limit and maximum number of missing ingredients
+     * @throws InvalidRecipeRequestException when no ingredient is given or the limit is too high.
+     * @return PantryMatchResponseDTO object with the matches best first
+     */
+    @Transactional(readOnly = true)
+    public PantryMatchResponseDTO matchPantry(PantryMatchRequestDTO pantryMatchRequestDTO) {
+        Set<String> pantry = pantryMatchRequestDTO.getIngredients() == null
+                ? Set.of()
+                : pantryMatchRequestDTO.getIngredients().stream()
+                        .filter(ingredientName -> ingredientName != null && !ingredientName.isBlank())
+                        .collect(Collectors.toSet());
+        if (pantry.isEmpty()) {
+            log.error("Pantry ingredients can not be null or empty");
+            throw new InvalidRecipeRequestException("Pantry ingredients can not be null or empty");
+        }
+        int limit = pantryMatchRequestDTO.getLimit() == null ? pantryDefaultLimit : pantryMatchRequestDTO.getLimit();
+        if (limit < 1 || limit > pantryMaxLimit) {
+            log.error("Pantry match limit {} is not between 1 and {}", limit, pantryMaxLimit);
+            throw new InvalidRecipeRequestException("Pantry match limit should be between 1 and " + pantryMaxLimit);
+        }
+        int maxMissing = pantryMatchRequestDTO.getMaxMissing() == null
+                ? Integer.MAX_VALUE
+                : Math.max(0, pantryMatchRequestDTO.getMaxMissing());
+        log.info("Pantry match request for {} ingredients", pantry.size());
+        List<PantryMatch> pantryMatches = recipeIngredientIndex.isReady()
+                ? recipeIngredientIndex.matchPantry(pantry, limit, maxMissing)
+                : matchPantryInDatabase(pantry, limit, maxMissing);
+        Map<Long, RecipeView> recipeViews =
+                recipeRepository
+                        .findViews(pantryMatches.stream()
+                                .map(PantryMatch::recipeId)
+                                .toList())
+                        .stream()
+                        .collect(Collectors.toMap(RecipeView::recipeId, Function.identity()));
+        List<PantryMatchDTO> matches = pantryMatches.stream()
+                .filter(pantryMatch -> recipeViews.containsKey(pantryMatch.recipeId()))
+                .map(pantryMatch -> {
+                    RecipeView recipeView = recipeViews.get(pantryMatch.recipeId());
+                    return PantryMatchDTO.builder()
+                            .recipe(recipeModelMapper.mapToRecipeDTO(recipeView))
+                            .matchedIngredients(pantryMatch.matchedIngredients())
+                            .requiredIngredients(pantryMatch.requiredIngredients())
+                            .missingIngredients(pantryMatch.missingIngredients())
+                            .coverage(pantryMatch.coverage())
+                            .missingIngredientNames(recipeView.ingredientNames().stream()
+                                    .filter(ingredientName -> !pantry.contains(ingredientName))
+                                    .distinct()
+                                    .toList())
+                            .build();
+                })
+                .toList();
+        return PantryMatchResponseDTO.builder()
+                .status(HttpStatus.OK.value())
+                .matches(matches)
+                .build();
+    }
+
+    /**
+     * @brief This method suggests recipe and ingredient names starting with the given prefix, ignoring case,
+     *        for a search box that asks on every keystroke. Names come from the in-memory suggestion index,
+     *        the database is not queried.
+     * @param prefix start of the name typed so far
+     * @param limit maximum number of names per list, recipe.suggest.maxResults when null
+     * @throws InvalidRecipeRequestException when the prefix is blank or the limit is not positive.
+     * @return RecipeSuggestionResponseDTO object, empty lists while the index is not built yet
+     */
+    public RecipeSuggestionResponseDTO suggestNames(String prefix, Integer limit) {
+        if (prefix == null || prefix.isBlank()) {
+            log.error("Suggestion prefix can not be null or empty");
+            throw new InvalidRecipeRequestException("Suggestion prefix can not be null or empty");
+        }
+        if (limit != null && limit < 1) {
+            log.error("Suggestion limit {} is not positive", limit);
+            throw new InvalidRecipeRequestException("Suggestion limit should be at least 1");
+        }
+        int maxResults = limit == null
+                ? recipeSuggestionIndex.maxResults()
+                : Math.min(limit, recipeSuggestionIndex.maxResults());
+        if (!recipeSuggestionIndex.isReady()) {
+            log.warn("Name suggestions are not available until the suggestion index is built");
+            return RecipeSuggestionResponseDTO.builder()
+                    .status(HttpStatus.OK.value())
+                    .recipes(List.of())
+                    .ingredients(List.of())
+                    .build();
+        }
+        return RecipeSuggestionResponseDTO.builder()
+                .status(HttpStatus.OK.value())
+                .recipes(recipeSuggestionIndex.suggestRecipeNames(prefix, maxResults))
+                .ingredients(recipeSuggestionIndex.suggestIngredientNames(prefix, maxResults))
+                .build();
+    }
+
+    private List<PantryMatch> matchPantryInDatabase(Set<String> pantry, int limit, int maxMissing) {
+        PantryMatch.TopMatches topMatches = new PantryMatch.TopMatches(limit);
+        for (Object[] row : recipeRepository.findPantryCoverage(pantry)) {
+            int requiredIngredients = ((Number) row[1]).intValue();
+            int matchedIngredients = ((Number) row[2]).intValue();
+            if (requiredIngredients - matchedIngredients <= maxMissing) {
+                topMatches.offer((Long) row[0], matchedIngredients, requiredIngredients);
+            }
+        }
+        return topMatches.best();
+    }
+
+    /**
+     * Reads the recipes of a page of keyset positions as views, the last position becomes nextCursor.
+     */
+    private RecipeResponseDTO mapToRecipeResponse(Slice<RecipeCursor> slice) {
+        List<Long> recipeIds =
+                slice.getContent().stream().map(RecipeCursor::recipeId).toList();
+        RecipeResponseDTO recipeResponseDTO =
+                recipeModelMapper.mapViewsToRecipeDTOlist(recipeRepository.findViews(recipeIds));
+        if (slice.hasNext() && !slice.getContent().isEmpty()) {
+            recipeResponseDTO.setNextCursor(
+                    slice.getContent().get(slice.getContent().size() - 1).encode());
+        }
+        return recipeResponseDTO;
+    }
+
+    private RuntimeException duplicateNameOr(DataIntegrityViolationException dataIntegrityViolationException) {
+        String message = dataIntegrityViolationException.getMostSpecificCause().getMessage();
+        if (message != null && message.toLowerCase().contains(Recipe.UNIQUE_NAME_CONSTRAINT)) {
+            log.error("Recipe name already exists");
+            return new InvalidRecipeRequestException("Recipe name already exists");
+        }
+        return dataIntegrityViolationException;
+    }
+
+    private boolean hasSearchText(RecipeFilterSearchDTO filterDTO) {
+        return filterDTO.getSearchTextInInstructions() != null
+                && !filterDTO.getSearchTextInInstructions().trim().isEmpty();
+    }
+
+    private boolean hasIngredientFilter(RecipeFilterSearchDTO filterDTO) {
+        return (filterDTO.getIncludedIngredients() != null
+                        && !filterDTO.getIncludedIngredients().isEmpty())
+                || (filterDTO.getExcludedIngredients() != null
+                        && !filterDTO.getExcludedIngredients().isEmpty());
+    }
+
+    private boolean hasAttributeFilter(RecipeFilterSearchDTO filterDTO) {
+        return filterDTO.getName() != null
+                || filterDTO.getFoodCategoryEnum() != null
+                || filterDTO.getServings() != null
+                || hasSearchText(filterDTO);
     }
 }
@@ -5,4 +5,6 @@ import java.util.Map;
 
 public interface AuthService {
     Map<String, String> authRequest(AuthRequestDTO authRequestDTO);
+
+    void revokeToken(String token);
 }
@@ -1,6 +1,8 @@
 package com.manage.recipe.service.auth;
 
+import io.jsonwebtoken.Claims;
 import java.util.Map;
+import java.util.Optional;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
@@ -11,4 +13,10 @@ public interface JwtService {
     String extractUsername(String token);
 
     String generateToken(Map<String, Object> extraClaims, String username);
+
+    /**
+     * Parses and verifies the token, already verified tokens are answered from a cache until they expire.
+     * @return the claims of a correctly signed, unexpired token, empty otherwise
+     */
+    Optional<Claims> verifyToken(String token);
 }
@@ -0,0 +1,35 @@
+package com.manage.recipe.util;
+
+import com.manage.recipe.exception.InvalidRecipeRequestException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * This record holds the keyset position of a search page: the last recipe id and its sort key value.
+ * It travels to clients as an opaque url safe string. A NULL sort value is encoded as the id alone, without
+ * separator, so it can not be confused with a value.
+ */
+public record RecipeCursor(Long recipeId, String sortValue) {
+    private static final String SEPARATOR = ":";
+
+    /**
+     * This method parses a cursor previously returned by encode
+     * @param    cursor opaque string from RecipeResponseDTO.nextCursor
+     * @throws InvalidRecipeRequestException when the cursor was not produced by this service
+     * @return RecipeCursor object
+     */
+    public static RecipeCursor decode(String cursor) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = decoded.split(SEPARATOR, 2);
+            return new RecipeCursor(Long.valueOf(parts[0]), parts.length == 2 ? parts[1] : null);
+        } catch (IllegalArgumentException exception) {
+            throw new InvalidRecipeRequestException("Invalid search cursor");
+        }
+    }
+
+    public String encode() {
+        String position = sortValue == null ? String.valueOf(recipeId) : recipeId + SEPARATOR + sortValue;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+}
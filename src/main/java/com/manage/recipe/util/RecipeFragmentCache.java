@@ -0,0 +1,77 @@
+package com.manage.recipe.util;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.manage.recipe.event.RecipeChangeEvent;
+import com.manage.recipe.model.dto.RecipeDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.io.UncheckedIOException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * This class keeps RecipeDTOs already encoded as JSON, keyed by recipe id and version, so a hot recipe is
+ * serialized once per version instead of once per response. The cache is bounded by recipe.fragments.maxSize bytes
+ * and its frequency based admission keeps the hot recipes. A committed change of a recipe drops its fragment.
+ */
+@Component
+public class RecipeFragmentCache {
+    public static final String CACHE_NAME = "recipeFragments";
+
+    private final ObjectWriter recipeWriter;
+    private final Cache<Long, RecipeFragment> fragments;
+
+    public RecipeFragmentCache(
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${recipe.fragments.maxSize:64MB}") DataSize maxSize) {
+        this.recipeWriter = objectMapper.writerFor(RecipeDTO.class);
+        this.fragments = Caffeine.newBuilder()
+                .maximumWeight(maxSize.toBytes())
+                .weigher((Long recipeId, RecipeFragment fragment) -> fragment.json().length)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, fragments, CACHE_NAME);
+    }
+
+    /**
+     * @return the encoded recipe, from the cache when its version was encoded before
+     */
+    public RecipeFragment fragment(RecipeDTO recipeDTO) {
+        if (recipeDTO.getRecipeId() == null) {
+            return encode(recipeDTO);
+        }
+        RecipeFragment fragment = fragments.getIfPresent(recipeDTO.getRecipeId());
+        if (fragment == null || fragment.version() != recipeDTO.getVersion()) {
+            fragment = encode(recipeDTO);
+            fragments.put(recipeDTO.getRecipeId(), fragment);
+        }
+        return fragment;
+    }
+
+    @Order(RecipeChangeEvent.INDEX_ORDER)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRecipeChange(RecipeChangeEvent recipeChangeEvent) {
+        fragments.invalidate(recipeChangeEvent.recipeId());
+    }
+
+    private RecipeFragment encode(RecipeDTO recipeDTO) {
+        try {
+            return new RecipeFragment(recipeDTO.getVersion(), recipeWriter.writeValueAsBytes(recipeDTO));
+        } catch (JsonProcessingException jsonProcessingException) {
+            throw new UncheckedIOException(jsonProcessingException);
+        }
+    }
+
+    /**
+     * JSON of one recipe version.
+     */
+    public record RecipeFragment(long version, byte[] json) {}
+}
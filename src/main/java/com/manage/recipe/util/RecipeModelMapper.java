@@ -1,9 +1,19 @@
 package com.manage.recipe.util;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.manage.recipe.exception.InvalidRecipeRequestException;
+import com.manage.recipe.model.FoodCategory;
+import com.manage.recipe.model.dao.Ingredient;
 import com.manage.recipe.model.dao.Recipe;
 import com.manage.recipe.model.dto.RecipeDTO;
 import com.manage.recipe.model.dto.RecipeResponseDTO;
+import com.manage.recipe.model.dto.RecipeView;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
@@ -24,6 +34,23 @@ public class RecipeModelMapper {
                 .ingredients(recipe.getIngredients())
                 .foodCategory(recipe.getFoodCategory())
                 .servings(recipe.getServings())
+                .version(recipe.getVersion())
+                .build();
+    }
+
+    public RecipeDTO mapToRecipeDTO(RecipeView recipeView) {
+        return RecipeDTO.builder()
+                .recipeId(recipeView.recipeId())
+                .name(recipeView.name())
+                .instructions(recipeView.instructions())
+                .ingredients(recipeView.ingredientNames().stream()
+                        .map(ingredientName -> Ingredient.builder()
+                                .ingredientName(ingredientName)
+                                .build())
+                        .collect(Collectors.toList()))
+                .foodCategory(recipeView.foodCategory())
+                .servings(recipeView.servings())
+                .version(recipeView.version())
                 .build();
     }
 
@@ -44,12 +71,115 @@ public class RecipeModelMapper {
                 .build();
     }
 
+    public RecipeResponseDTO mapViewsToRecipeDTOlist(List<RecipeView> recipeViews) {
+        return RecipeResponseDTO.builder()
+                .recipeDTOList(recipeViews.stream().map(this::mapToRecipeDTO).collect(Collectors.toList()))
+                .status(HttpStatus.OK.value())
+                .build();
+    }
+
     public Recipe updatedRecipe(Recipe recipe, RecipeDTO recipeDTO) {
         recipe.setName(recipeDTO.getName());
-        recipe.setIngredients(recipeDTO.getIngredients());
+        updateIngredients(
+                recipe,
+                recipeDTO.getIngredients() == null
+                        ? List.of()
+                        : recipeDTO.getIngredients().stream()
+                                .map(Ingredient::getIngredientName)
+                                .toList());
         recipe.setServings(recipeDTO.getServings());
         recipe.setInstructions(recipeDTO.getInstructions());
         recipe.setFoodCategory(recipeDTO.getFoodCategory());
         return recipe;
     }
+
+    /**
+     * This method applies a JSON Merge Patch (RFC 7396) to a recipe: fields missing from the patch are kept,
+     * null clears a field and ingredients are diffed by name like in updatedRecipe.
+     * @throws InvalidRecipeRequestException when the patch is not an object, names an unknown field or sets an
+     *         invalid value.
+     */
+    public Recipe patchedRecipe(Recipe recipe, JsonNode mergePatch) {
+        if (mergePatch == null || !mergePatch.isObject()) {
+            throw new InvalidRecipeRequestException("Merge patch must be a JSON object");
+        }
+        for (Map.Entry<String, JsonNode> field : mergePatch.properties()) {
+            JsonNode value = field.getValue();
+            switch (field.getKey()) {
+                case "name" -> {
+                    if (!value.isTextual() || value.asText().isBlank()) {
+                        throw new InvalidRecipeRequestException("Recipe name can not be null or empty");
+                    }
+                    recipe.setName(value.asText());
+                }
+                case "foodCategory" -> recipe.setFoodCategory(value.isNull() ? null : foodCategory(value));
+                case "servings" -> {
+                    if (!value.canConvertToInt() || value.asInt() < 1) {
+                        throw new InvalidRecipeRequestException("There should be at least 1 serving number");
+                    }
+                    recipe.setServings(value.asInt());
+                }
+                case "instructions" -> recipe.setInstructions(value.isNull() ? null : text(field.getKey(), value));
+                case "ingredients" -> updateIngredients(recipe, ingredientNames(value));
+                case "recipeId" -> {
+                    // the id is taken from the path
+                }
+                default -> throw new InvalidRecipeRequestException("Unknown recipe field " + field.getKey());
+            }
+        }
+        return recipe;
+    }
+
+    /**
+     * This method turns the ingredients of a recipe into the given ones, matched by name. Ingredients still
+     * wanted keep their rows, dropped ones are removed from the collection (orphan removal deletes their rows)
+     * and only new names get new rows. The collection itself is modified, never replaced.
+     */
+    public void updateIngredients(Recipe recipe, List<String> ingredientNames) {
+        Set<String> wantedNames = new LinkedHashSet<>(ingredientNames);
+        if (recipe.getIngredients() == null) {
+            recipe.setIngredients(new ArrayList<>());
+        }
+        Set<String> keptNames = new HashSet<>();
+        recipe.getIngredients()
+                .removeIf(ingredient -> !wantedNames.contains(ingredient.getIngredientName())
+                        || !keptNames.add(ingredient.getIngredientName()));
+        wantedNames.stream()
+                .filter(ingredientName -> !keptNames.contains(ingredientName))
+                .forEach(ingredientName -> recipe.getIngredients()
+                        .add(Ingredient.builder().ingredientName(ingredientName).build()));
+    }
+
+    private List<String> ingredientNames(JsonNode ingredients) {
+        if (ingredients.isNull()) {
+            return List.of();
+        }
+        if (!ingredients.isArray()) {
+            throw new InvalidRecipeRequestException("Recipe ingredients must be an array");
+        }
+        List<String> ingredientNames = new ArrayList<>(ingredients.size());
+        for (JsonNode ingredient : ingredients) {
+            JsonNode ingredientName = ingredient.isObject() ? ingredient.get("ingredientName") : ingredient;
+            if (ingredientName == null || !ingredientName.isTextual()) {
+                throw new InvalidRecipeRequestException("Recipe ingredients must have an ingredientName");
+            }
+            ingredientNames.add(ingredientName.asText());
+        }
+        return ingredientNames;
+    }
+
+    private FoodCategory foodCategory(JsonNode value) {
+        try {
+            return FoodCategory.valueOf(text("foodCategory", value).toUpperCase());
+        } catch (IllegalArgumentException illegalArgumentException) {
+            throw new InvalidRecipeRequestException("Unknown food category " + value.asText());
+        }
+    }
+
+    private String text(String fieldName, JsonNode value) {
+        if (!value.isTextual()) {
+            throw new InvalidRecipeRequestException("Recipe " + fieldName + " must be a string");
+        }
+        return value.asText();
+    }
 }
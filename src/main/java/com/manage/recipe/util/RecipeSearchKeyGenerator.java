@@ -0,0 +1,89 @@
+package com.manage.recipe.util;
+
+import com.manage.recipe.event.RecipeCatalogVersion;
+import com.manage.recipe.model.FoodCategory;
+import com.manage.recipe.model.dto.RecipeFilterSearchDTO;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import org.springframework.cache.interceptor.KeyGenerator;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+/**
+ * This class builds the recipe search cache key from a normalized filter, the page and the cursor.
+ * Ingredient lists are sorted and de-duplicated and the instruction text is trimmed and lower-cased, so
+ * equivalent searches share one entry. The key also holds the catalog generation, a committed recipe change
+ * makes every cached search unreachable and the old entries age out of the bounded cache.
+ */
+@Component(RecipeSearchKeyGenerator.NAME)
+public class RecipeSearchKeyGenerator implements KeyGenerator {
+    public static final String NAME = "recipeSearchKeyGenerator";
+
+    private final RecipeCatalogVersion recipeCatalogVersion;
+
+    public RecipeSearchKeyGenerator(RecipeCatalogVersion recipeCatalogVersion) {
+        this.recipeCatalogVersion = recipeCatalogVersion;
+    }
+
+    /**
+     * @param params RecipeFilterSearchDTO, Pageable and cursor of RecipeService.searchRecipes
+     */
+    @Override
+    public Object generate(Object target, Method method, Object... params) {
+        return key(
+                recipeCatalogVersion.generation(),
+                (RecipeFilterSearchDTO) params[0],
+                (Pageable) params[1],
+                params.length > 2 ? (String) params[2] : null);
+    }
+
+    /**
+     * This method hashes the normalized search without the catalog generation, equivalent searches get the same
+     * digest, e.g. to tell search pages apart in an ETag.
+     * @return hex MD5 digest of the normalized filter, page and cursor
+     */
+    public String digest(RecipeFilterSearchDTO filterDTO, Pageable pageable, String cursor) {
+        return DigestUtils.md5DigestAsHex(
+                key(0, filterDTO, pageable, cursor).toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static RecipeSearchKey key(
+            long generation, RecipeFilterSearchDTO filterDTO, Pageable pageable, String cursor) {
+        String searchText = filterDTO.getSearchTextInInstructions();
+        return new RecipeSearchKey(
+                generation,
+                filterDTO.getName(),
+                filterDTO.getFoodCategoryEnum(),
+                filterDTO.getServings(),
+                normalize(filterDTO.getIncludedIngredients()),
+                normalize(filterDTO.getExcludedIngredients()),
+                searchText == null || searchText.isBlank()
+                        ? null
+                        : searchText.trim().toLowerCase(),
+                pageable.isPaged() ? pageable.getOffset() : -1,
+                pageable.isPaged() ? pageable.getPageSize() : -1,
+                pageable.getSort().toString(),
+                cursor);
+    }
+
+    private static List<String> normalize(List<String> ingredientNames) {
+        return ingredientNames == null || ingredientNames.isEmpty()
+                ? null
+                : ingredientNames.stream().distinct().sorted().toList();
+    }
+
+    record RecipeSearchKey(
+            long generation,
+            String name,
+            FoodCategory foodCategory,
+            Integer servings,
+            List<String> includedIngredients,
+            List<String> excludedIngredients,
+            String searchText,
+            long offset,
+            int pageSize,
+            String sort,
+            String cursor) {}
+}
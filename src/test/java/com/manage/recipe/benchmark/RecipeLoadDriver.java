@@ -0,0 +1,218 @@
+package com.manage.recipe.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.manage.recipe.seed.RecipeCatalogGenerator;
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Drives a running recipe manager with a configurable mix of searches, reads by id and writes, and reports
+ * throughput and p50/p99 latency per endpoint in the log and as JSON. Seed the catalog first with the seed
+ * profile, then run mvn -Ploadtest test-compile exec:java -Dload.args="--clients=200 --seconds=60".
+ * Options (defaults in brackets): --baseUrl [http://localhost:8080] --clients [100] --seconds [60]
+ * --search [70] --byId [25] --write [5] (mix weights) --ingredientVocabulary [2000], must match the seeded catalog
+ * --output [target/load-test-result.json]
+ */
+@Slf4j
+public class RecipeLoadDriver {
+    private static final String LOGIN = "POST /auth/login";
+    private static final String SEARCH = "GET /recipes/search";
+    private static final String BY_ID = "GET /recipes/id/{id}";
+    private static final String WRITE = "POST /recipes";
+
+    private final Map<String, String> options;
+    private final String baseUrl;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient httpClient =
+            HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+    private final Map<String, List<Long>> latencies = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> errors = new ConcurrentHashMap<>();
+    private final List<Long> knownRecipeIds = Collections.synchronizedList(new ArrayList<>());
+
+    RecipeLoadDriver(Map<String, String> options) {
+        this.options = options;
+        this.baseUrl = options.getOrDefault("baseUrl", "http://localhost:8080");
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            String[] option = arg.replaceFirst("^--", "").split("=", 2);
+            options.put(option[0], option.length > 1 ? option[1] : "true");
+        }
+        new RecipeLoadDriver(options).run();
+    }
+
+    void run() throws Exception {
+        int clients = intOption("clients", 100);
+        long seconds = intOption("seconds", 60);
+        int searchWeight = intOption("search", 70);
+        int byIdWeight = intOption("byId", 25);
+        int totalWeight = searchWeight + byIdWeight + intOption("write", 5);
+        RecipeCatalogGenerator ingredientSampler =
+                new RecipeCatalogGenerator(System.nanoTime(), intOption("ingredientVocabulary", 2000), 1.0, 1, 1, 1, 1);
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        ExecutorService clientThreads = Executors.newFixedThreadPool(clients);
+        for (int client = 0; client < clients; client++) {
+            clientThreads.submit(() -> {
+                String token = login();
+                while (System.nanoTime() < deadline) {
+                    int operation = ThreadLocalRandom.current().nextInt(totalWeight);
+                    boolean readById = operation >= searchWeight && operation < searchWeight + byIdWeight;
+                    if (operation < searchWeight || (readById && knownRecipeIds.isEmpty())) {
+                        search(token, RecipeCatalogGenerator.ingredientName(ingredientSampler.nextIngredientRank()));
+                    } else if (readById) {
+                        fetchById(token);
+                    } else {
+                        write(token, RecipeCatalogGenerator.ingredientName(ingredientSampler.nextIngredientRank()));
+                    }
+                }
+                return null;
+            });
+        }
+        clientThreads.shutdown();
+        clientThreads.awaitTermination(seconds + 60, TimeUnit.SECONDS);
+        report(seconds);
+    }
+
+    private String login() throws IOException, InterruptedException {
+        ObjectNode body =
+                objectMapper.createObjectNode().put("userName", "admin").put("password", "admin");
+        JsonNode response = send(
+                LOGIN,
+                request("/auth/login", null)
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(body.toString()))
+                        .build());
+        if (response == null) {
+            throw new IllegalStateException("Login failed against " + baseUrl);
+        }
+        return response.get("token").asText();
+    }
+
+    private void search(String token, String ingredientName) throws IOException, InterruptedException {
+        String query =
+                switch (ThreadLocalRandom.current().nextInt(4)) {
+                    case 0 -> "foodCategory=VEG";
+                    case 1 -> "includedIngredients=" + ingredientName;
+                    case 2 -> "servings=" + (1 + ThreadLocalRandom.current().nextInt(8)) + "&excludedIngredients="
+                            + ingredientName;
+                    default -> "searchTextInInstructions=bake";
+                };
+        JsonNode response =
+                send(SEARCH, request("/recipes/search?" + query, token).GET().build());
+        if (response != null && response.has("recipes") && knownRecipeIds.size() < 100_000) {
+            response.get("recipes")
+                    .forEach(recipe -> knownRecipeIds.add(recipe.get("recipeId").asLong()));
+        }
+    }
+
+    private void fetchById(String token) throws IOException, InterruptedException {
+        long recipeId = knownRecipeIds.get(ThreadLocalRandom.current().nextInt(knownRecipeIds.size()));
+        send(BY_ID, request("/recipes/id/" + recipeId, token).GET().build());
+    }
+
+    private void write(String token, String ingredientName) throws IOException, InterruptedException {
+        ObjectNode body = objectMapper
+                .createObjectNode()
+                .put("name", "load-" + UUID.randomUUID())
+                .put("foodCategory", "VEG")
+                .put("servings", 2)
+                .put("instructions", "stir and bake until golden");
+        body.putArray("ingredients").addObject().put("ingredientName", ingredientName);
+        JsonNode response = send(
+                WRITE,
+                request("/recipes", token)
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(body.toString()))
+                        .build());
+        if (response != null && response.has("recipeId")) {
+            knownRecipeIds.add(response.get("recipeId").asLong());
+        }
+    }
+
+    private HttpRequest.Builder request(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path));
+        return token == null ? builder : builder.header("Authorization", "Bearer " + token);
+    }
+
+    private JsonNode send(String endpoint, HttpRequest httpRequest) throws IOException, InterruptedException {
+        long startTime = System.nanoTime();
+        HttpResponse<String> response;
+        try {
+            response = httpClient.send(httpRequest, HttpResponse.BodyHandlers.ofString());
+        } catch (IOException ioException) {
+            errors.computeIfAbsent(endpoint, key -> new AtomicLong()).incrementAndGet();
+            return null;
+        }
+        latencies
+                .computeIfAbsent(endpoint, key -> Collections.synchronizedList(new ArrayList<>()))
+                .add(System.nanoTime() - startTime);
+        if (response.statusCode() >= 400) {
+            errors.computeIfAbsent(endpoint, key -> new AtomicLong()).incrementAndGet();
+            return null;
+        }
+        return objectMapper.readTree(response.body());
+    }
+
+    private void report(long seconds) throws IOException {
+        Map<String, Map<String, Object>> results = new LinkedHashMap<>();
+        log.info(String.format(
+                "%-22s %10s %8s %10s %10s %10s", "endpoint", "requests", "errors", "req/s", "p50 ms", "p99 ms"));
+        for (String endpoint : List.of(LOGIN, SEARCH, BY_ID, WRITE)) {
+            List<Long> sorted = new ArrayList<>(latencies.getOrDefault(endpoint, List.of()));
+            Collections.sort(sorted);
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("requests", sorted.size());
+            result.put("errors", errors.getOrDefault(endpoint, new AtomicLong()).get());
+            result.put("throughput", sorted.size() / (double) seconds);
+            result.put("p50Millis", percentileMillis(sorted, 0.50));
+            result.put("p99Millis", percentileMillis(sorted, 0.99));
+            results.put(endpoint, result);
+            log.info(String.format(
+                    "%-22s %10d %8d %10.1f %10.2f %10.2f",
+                    endpoint,
+                    sorted.size(),
+                    result.get("errors"),
+                    result.get("throughput"),
+                    result.get("p50Millis"),
+                    result.get("p99Millis")));
+        }
+        File output = new File(options.getOrDefault("output", "target/load-test-result.json"));
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(output, results);
+    }
+
+    private static double percentileMillis(List<Long> sortedNanos, double percentile) {
+        if (sortedNanos.isEmpty()) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sortedNanos.size()) - 1;
+        return sortedNanos.get(Math.max(0, index)) / 1_000_000.0;
+    }
+
+    private int intOption(String name, int defaultValue) {
+        return Integer.parseInt(options.getOrDefault(name, String.valueOf(defaultValue)));
+    }
+}
@@ -0,0 +1,96 @@
+package com.manage.recipe.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.manage.recipe.RecipeManagerApplication;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Compares search throughput of platform thread and virtual thread request handling at a fixed number of
+ * concurrent clients. Excluded from the regular build, run it on Java 21 with
+ * mvn -Pjava21 test -Dgroups=benchmark -DexcludedGroups= [-Dbenchmark.clients=1000 -Dbenchmark.seconds=30]
+ */
+@Tag("benchmark")
+@Slf4j
+public class VirtualThreadThroughputBenchmark {
+    private static final int CLIENTS = Integer.getInteger("benchmark.clients", 1000);
+    private static final Duration DURATION = Duration.ofSeconds(Long.getLong("benchmark.seconds", 30));
+    private static final String SEARCH_PATH = "/recipes/search?foodCategory=VEG";
+
+    @Test
+    public void compareVirtualAndPlatformThreads() throws Exception {
+        double platformThroughput = measure(false);
+        double virtualThroughput = measure(true);
+        log.info(String.format(
+                "%d clients: platform threads %.1f req/s, virtual threads %.1f req/s",
+                CLIENTS, platformThroughput, virtualThroughput));
+        Assertions.assertTrue(platformThroughput > 0 && virtualThroughput > 0);
+    }
+
+    private double measure(boolean virtualThreads) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(RecipeManagerApplication.class)
+                .profiles("test")
+                .properties("server.port=0", "recipe.threads.virtual=" + virtualThreads)
+                .run()) {
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            HttpClient httpClient = HttpClient.newBuilder()
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .build();
+            String token = login(httpClient, baseUrl);
+            HttpRequest searchRequest = HttpRequest.newBuilder(URI.create(baseUrl + SEARCH_PATH))
+                    .header("Authorization", "Bearer " + token)
+                    .build();
+
+            AtomicLong completedRequests = new AtomicLong();
+            long deadline = System.nanoTime() + DURATION.toNanos();
+            ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+            for (int client = 0; client < CLIENTS; client++) {
+                clients.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        try {
+                            if (httpClient
+                                            .send(searchRequest, HttpResponse.BodyHandlers.discarding())
+                                            .statusCode()
+                                    == 200) {
+                                completedRequests.incrementAndGet();
+                            }
+                        } catch (Exception exception) {
+                            // a failed request does not count towards throughput
+                        }
+                    }
+                    return null;
+                });
+            }
+            clients.shutdown();
+            clients.awaitTermination(DURATION.toSeconds() + 60, TimeUnit.SECONDS);
+            return completedRequests.get() / (double) DURATION.toSeconds();
+        }
+    }
+
+    private String login(HttpClient httpClient, String baseUrl) throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+        HttpRequest loginRequest = HttpRequest.newBuilder(URI.create(baseUrl + "/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(
+                        objectMapper.writeValueAsString(Map.of("userName", "admin", "password", "admin"))))
+                .build();
+        String body = httpClient
+                .send(loginRequest, HttpResponse.BodyHandlers.ofString())
+                .body();
+        return objectMapper.readTree(body).get("token").asText();
+    }
+}
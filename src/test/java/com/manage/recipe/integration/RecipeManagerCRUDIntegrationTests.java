@@ -1,11 +1,18 @@
 package com.manage.recipe.integration;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.protobuf.ProtobufMapper;
 import com.manage.recipe.RecipeManagerApplication;
+import com.manage.recipe.configuration.JacksonProtobufHttpMessageConverter;
 import com.manage.recipe.model.FoodCategory;
 import com.manage.recipe.model.dao.Ingredient;
 import com.manage.recipe.model.dao.Recipe;
 import com.manage.recipe.model.dto.AuthRequestDTO;
 import com.manage.recipe.model.dto.RecipeDTO;
+import com.manage.recipe.model.dto.RecipeImportResponseDTO;
+import com.manage.recipe.model.dto.RecipeImportResultDTO;
+import com.manage.recipe.model.dto.RecipeRemovalResponseDTO;
 import com.manage.recipe.model.dto.RecipeResponseDTO;
 import java.util.*;
 import org.junit.jupiter.api.*;
@@ -14,6 +21,7 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.client.TestRestTemplate;
 import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.*;
 import org.springframework.test.context.ActiveProfiles;
 
@@ -62,11 +70,19 @@ class RecipeManagerCRUDIntegrationTests {
         recipe = recipeList.get(0);
     }
 
+    @AfterEach
+    public void tearDown() {
+        recipeManagerTestRepository.deleteAll();
+    }
+
     public String getAuthenticationToken() {
         AuthRequestDTO authRequestDTO = new AuthRequestDTO("admin", "admin");
 
-        ResponseEntity<Map> response = testRestTemplate.postForEntity(
-                baseUrl.concat(":").concat(port + "") + "/auth//login", authRequestDTO, Map.class);
+        ResponseEntity<Map<String, String>> response = testRestTemplate.exchange(
+                baseUrl.concat(":").concat(port + "") + "/auth//login",
+                HttpMethod.POST,
+                new HttpEntity<>(authRequestDTO),
+                new ParameterizedTypeReference<>() {});
         Map<String, String> responseBody = response.getBody();
         return Objects.requireNonNull(responseBody).getOrDefault("token", "");
     }
@@ -95,6 +111,85 @@ class RecipeManagerCRUDIntegrationTests {
                 recipeName, Objects.requireNonNull(response.getBody()).getName());
     }
 
+    @Test
+    public void testImportRecipesInBulk() {
+        String recipeName = UUID.randomUUID().toString();
+        List<RecipeDTO> recipeDTOs = List.of(
+                RecipeDTO.builder()
+                        .ingredients(List.of(
+                                Ingredient.builder().ingredientName("salt").build()))
+                        .name(recipeName)
+                        .foodCategory(FoodCategory.VEG)
+                        .servings(1)
+                        .build(),
+                RecipeDTO.builder()
+                        .name(recipe.getName())
+                        .foodCategory(FoodCategory.VEG)
+                        .servings(1)
+                        .build());
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+        headers.setContentType(MediaType.APPLICATION_JSON);
+
+        ResponseEntity<RecipeImportResponseDTO> response = testRestTemplate.postForEntity(
+                contextUrl + "/bulk", new HttpEntity<>(recipeDTOs, headers), RecipeImportResponseDTO.class);
+
+        Assertions.assertEquals(200, response.getStatusCode().value());
+        RecipeImportResponseDTO importResponse = Objects.requireNonNull(response.getBody());
+        Assertions.assertEquals(1, importResponse.getCreated());
+        Assertions.assertEquals(1, importResponse.getRejected());
+        Assertions.assertEquals(
+                recipeName,
+                recipeManagerTestRepository
+                        .findById(importResponse.getResults().get(0).getRecipeId())
+                        .map(Recipe::getName)
+                        .orElse(null));
+    }
+
+    @Test
+    public void testImportRecipeStreamInBulk() {
+        String recipeName = UUID.randomUUID().toString();
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+        headers.setContentType(MediaType.APPLICATION_NDJSON);
+        String recipeStream = "{\"name\":\"\",\"servings\":2}\n" + "{\"name\":\"broken\n" + "{\"name\":\"" + recipeName
+                + "\",\"servings\":2}\n";
+
+        ResponseEntity<RecipeImportResponseDTO> response = testRestTemplate.postForEntity(
+                contextUrl + "/bulk", new HttpEntity<>(recipeStream, headers), RecipeImportResponseDTO.class);
+
+        Assertions.assertEquals(200, response.getStatusCode().value());
+        RecipeImportResponseDTO importResponse = Objects.requireNonNull(response.getBody());
+        Assertions.assertEquals(1, importResponse.getCreated());
+        Assertions.assertEquals(2, importResponse.getRejected());
+        Assertions.assertEquals(
+                RecipeImportResultDTO.ImportStatus.REJECTED,
+                importResponse.getResults().get(1).getImportStatus());
+        Assertions.assertEquals(
+                RecipeImportResultDTO.ImportStatus.CREATED,
+                importResponse.getResults().get(2).getImportStatus());
+    }
+
+    @Test
+    public void testRevokedTokenIsRejected() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+        String recipeUrl = contextUrl + "/id/" + recipe.getId();
+        ResponseEntity<RecipeDTO> response =
+                testRestTemplate.exchange(recipeUrl, HttpMethod.GET, new HttpEntity<>(headers), RecipeDTO.class);
+        Assertions.assertEquals(200, response.getStatusCode().value());
+
+        ResponseEntity<Void> logoutResponse = testRestTemplate.exchange(
+                baseUrl.concat(":").concat(port + "") + "/auth/logout",
+                HttpMethod.POST,
+                new HttpEntity<>(headers),
+                Void.class);
+        Assertions.assertEquals(204, logoutResponse.getStatusCode().value());
+
+        response = testRestTemplate.exchange(recipeUrl, HttpMethod.GET, new HttpEntity<>(headers), RecipeDTO.class);
+        Assertions.assertEquals(403, response.getStatusCode().value());
+    }
+
     @Test
     public void testFetchAllRecipesWhenRecipesArePresent() {
         HttpHeaders headers = new HttpHeaders();
@@ -109,6 +204,23 @@ class RecipeManagerCRUDIntegrationTests {
                 Objects.requireNonNull(response.getBody()).getRecipeDTOList().size() > 0);
     }
 
+    @Test
+    public void testStreamAllRecipesAsNdjson() throws Exception {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+        headers.setAccept(List.of(MediaType.APPLICATION_NDJSON));
+        ResponseEntity<String> response =
+                testRestTemplate.exchange(contextUrl, HttpMethod.GET, new HttpEntity<>(headers), String.class);
+
+        Assertions.assertEquals(200, response.getStatusCode().value());
+        Assertions.assertTrue(MediaType.APPLICATION_NDJSON.isCompatibleWith(
+                response.getHeaders().getContentType()));
+        String[] lines = Objects.requireNonNull(response.getBody()).split("\n");
+        Assertions.assertEquals(recipeManagerTestRepository.count(), lines.length);
+        RecipeDTO recipeDTO = new ObjectMapper().readValue(lines[0], RecipeDTO.class);
+        Assertions.assertNotNull(recipeDTO.getRecipeId());
+    }
+
     @Test
     public void testFetchRecipeById() {
         HttpHeaders headers = new HttpHeaders();
@@ -126,6 +238,67 @@ class RecipeManagerCRUDIntegrationTests {
         Assertions.assertEquals(200, response.getStatusCode().value());
     }
 
+    @Test
+    public void testFetchRecipeByIdIsNotStaleAfterUpdate() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        String recipeUrl = contextUrl + "/id/" + recipe.getId();
+        testRestTemplate.exchange(recipeUrl, HttpMethod.GET, new HttpEntity<>(headers), RecipeDTO.class);
+
+        RecipeDTO recipeDTO = RecipeDTO.builder()
+                .name(UUID.randomUUID().toString())
+                .foodCategory(FoodCategory.VEG)
+                .servings(2)
+                .build();
+        testRestTemplate.exchange(
+                contextUrl + "/update/" + recipe.getId(),
+                HttpMethod.PUT,
+                new HttpEntity<>(recipeDTO, headers),
+                RecipeDTO.class);
+        ResponseEntity<RecipeDTO> response =
+                testRestTemplate.exchange(recipeUrl, HttpMethod.GET, new HttpEntity<>(headers), RecipeDTO.class);
+
+        Assertions.assertEquals(
+                recipeDTO.getName(), Objects.requireNonNull(response.getBody()).getName());
+        ResponseEntity<Map<String, Object>> cacheMetrics = testRestTemplate.exchange(
+                baseUrl.concat(":").concat(port + "") + "/actuator/metrics/cache.gets?tag=name:recipesById",
+                HttpMethod.GET,
+                new HttpEntity<>(headers),
+                new ParameterizedTypeReference<>() {});
+        Assertions.assertEquals(200, cacheMetrics.getStatusCode().value());
+    }
+
+    @Test
+    public void testConditionalFetchRecipeById() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+        String recipeUrl = contextUrl + "/id/" + recipe.getId();
+        ResponseEntity<RecipeDTO> response =
+                testRestTemplate.exchange(recipeUrl, HttpMethod.GET, new HttpEntity<>(headers), RecipeDTO.class);
+        String eTag = response.getHeaders().getETag();
+        Assertions.assertNotNull(eTag);
+
+        headers.setIfNoneMatch(eTag);
+        response = testRestTemplate.exchange(recipeUrl, HttpMethod.GET, new HttpEntity<>(headers), RecipeDTO.class);
+        Assertions.assertEquals(304, response.getStatusCode().value());
+        Assertions.assertNull(response.getBody());
+
+        RecipeDTO recipeDTO = RecipeDTO.builder()
+                .name(UUID.randomUUID().toString())
+                .foodCategory(FoodCategory.VEG)
+                .servings(2)
+                .build();
+        testRestTemplate.exchange(
+                contextUrl + "/update/" + recipe.getId(),
+                HttpMethod.PUT,
+                new HttpEntity<>(recipeDTO, headers),
+                RecipeDTO.class);
+        response = testRestTemplate.exchange(recipeUrl, HttpMethod.GET, new HttpEntity<>(headers), RecipeDTO.class);
+        Assertions.assertEquals(200, response.getStatusCode().value());
+        Assertions.assertNotEquals(eTag, response.getHeaders().getETag());
+    }
+
     @Test
     public void testThrowExceptionIfRecipeNotFoundbyId() {
         HttpHeaders headers = new HttpHeaders();
@@ -219,4 +392,63 @@ class RecipeManagerCRUDIntegrationTests {
 
         Assertions.assertEquals(HttpStatus.NOT_FOUND, putResponseEntity.getStatusCode());
     }
+
+    @Test
+    public void testDeleteRecipesByIds() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+        Recipe recipe = recipeManagerTestRepository.findAll().stream()
+                .filter(recipe1 -> recipe1.getName() != null)
+                .findFirst()
+                .get();
+        long missingId = recipe.getId() + 1000;
+        HttpEntity<Void> requestEntity = new HttpEntity<>(headers);
+        var deleteResponseEntity = testRestTemplate.exchange(
+                contextUrl + "?ids=" + recipe.getId() + "," + missingId,
+                HttpMethod.DELETE,
+                requestEntity,
+                RecipeRemovalResponseDTO.class);
+
+        Assertions.assertEquals(HttpStatus.OK, deleteResponseEntity.getStatusCode());
+        Assertions.assertEquals(1, deleteResponseEntity.getBody().getRemoved());
+        Assertions.assertEquals(1, deleteResponseEntity.getBody().getNotFound());
+        Assertions.assertFalse(recipeManagerTestRepository.existsById(recipe.getId()));
+    }
+
+    @Test
+    public void testFetchRecipeByIdInBinaryFormats() throws Exception {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+        String recipeUrl = contextUrl + "/id/" + recipe.getId();
+
+        headers.setAccept(List.of(MediaType.APPLICATION_CBOR));
+        ResponseEntity<byte[]> cborResponse =
+                testRestTemplate.exchange(recipeUrl, HttpMethod.GET, new HttpEntity<>(headers), byte[].class);
+        Assertions.assertEquals(
+                MediaType.APPLICATION_CBOR, cborResponse.getHeaders().getContentType());
+        Assertions.assertEquals(
+                recipe.getName(),
+                new CBORMapper()
+                        .readValue(cborResponse.getBody(), RecipeDTO.class)
+                        .getName());
+
+        headers.setAccept(List.of(JacksonProtobufHttpMessageConverter.APPLICATION_PROTOBUF));
+        ResponseEntity<byte[]> protobufResponse =
+                testRestTemplate.exchange(recipeUrl, HttpMethod.GET, new HttpEntity<>(headers), byte[].class);
+        Assertions.assertEquals(
+                JacksonProtobufHttpMessageConverter.APPLICATION_PROTOBUF,
+                protobufResponse.getHeaders().getContentType());
+        ProtobufMapper protobufMapper = new ProtobufMapper();
+        RecipeDTO recipeDTO = protobufMapper
+                .readerFor(RecipeDTO.class)
+                .with(protobufMapper.generateSchemaFor(RecipeDTO.class))
+                .readValue(protobufResponse.getBody());
+        Assertions.assertEquals(recipe.getName(), recipeDTO.getName());
+
+        headers.setAccept(List.of(MediaType.ALL));
+        ResponseEntity<byte[]> defaultResponse =
+                testRestTemplate.exchange(recipeUrl, HttpMethod.GET, new HttpEntity<>(headers), byte[].class);
+        Assertions.assertEquals(
+                MediaType.APPLICATION_JSON, defaultResponse.getHeaders().getContentType());
+    }
 }
@@ -5,8 +5,16 @@ import com.manage.recipe.model.FoodCategory;
 import com.manage.recipe.model.dao.Ingredient;
 import com.manage.recipe.model.dao.Recipe;
 import com.manage.recipe.model.dto.AuthRequestDTO;
+import com.manage.recipe.model.dto.PantryMatchDTO;
+import com.manage.recipe.model.dto.PantryMatchRequestDTO;
+import com.manage.recipe.model.dto.PantryMatchResponseDTO;
+import com.manage.recipe.model.dto.RecipeDTO;
+import com.manage.recipe.model.dto.RecipeFacetsDTO;
 import com.manage.recipe.model.dto.RecipeFilterSearchDTO;
 import com.manage.recipe.model.dto.RecipeResponseDTO;
+import com.manage.recipe.model.dto.RecipeSuggestionResponseDTO;
+import com.manage.recipe.repository.RecipeRepository;
+import com.manage.recipe.util.RecipeCursor;
 import java.util.*;
 import org.junit.jupiter.api.*;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -14,6 +22,10 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.client.TestRestTemplate;
 import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.*;
 import org.springframework.test.context.ActiveProfiles;
 
@@ -36,6 +48,9 @@ public class RecipeManagerSearchIntegrationTests {
     @Autowired
     private RecipeManagerTestRepository recipeManagerTestRepository;
 
+    @Autowired
+    private RecipeRepository recipeRepository;
+
     private List<Recipe> recipeList = new ArrayList<>();
     private RecipeFilterSearchDTO recipeFilterSearchDTO;
     private static final String SEARCH = "/search";
@@ -86,8 +101,11 @@ public class RecipeManagerSearchIntegrationTests {
     public String getAuthenticationToken() {
         AuthRequestDTO authRequestDTO = new AuthRequestDTO("admin", "admin");
 
-        ResponseEntity<Map> response = testRestTemplate.postForEntity(
-                baseUrl.concat(":").concat(port + "") + "/auth//login", authRequestDTO, Map.class);
+        ResponseEntity<Map<String, String>> response = testRestTemplate.exchange(
+                baseUrl.concat(":").concat(port + "") + "/auth//login",
+                HttpMethod.POST,
+                new HttpEntity<>(authRequestDTO),
+                new ParameterizedTypeReference<>() {});
         Map<String, String> responseBody = response.getBody();
         return Objects.requireNonNull(responseBody).getOrDefault("token", "");
     }
@@ -114,6 +132,23 @@ public class RecipeManagerSearchIntegrationTests {
                 Objects.requireNonNull(response.getBody()).getRecipeDTOList().size() > 0);
     }
 
+    @Test
+    public void shouldReturnIngredientsOfSearchedRecipes() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        HttpEntity<RecipeFilterSearchDTO> requestEntity = new HttpEntity<>(recipeFilterSearchDTO, headers);
+        ResponseEntity<RecipeResponseDTO> response = testRestTemplate.exchange(
+                contextUrl + SEARCH + QUESTION_MARK + RECIPE_NAME + EQUAL_CHARACTER + "recipe2",
+                HttpMethod.GET,
+                requestEntity,
+                RecipeResponseDTO.class);
+        Assertions.assertEquals(200, response.getStatusCode().value());
+        List<RecipeDTO> recipes = Objects.requireNonNull(response.getBody()).getRecipeDTOList();
+        Assertions.assertEquals(1, recipes.size());
+        Assertions.assertEquals(2, recipes.get(0).getIngredients().size());
+    }
+
     @Test
     public void shouldSearchForServingsAndIncludedIngredients() {
         int numberOfServings = 1;
@@ -207,4 +242,250 @@ public class RecipeManagerSearchIntegrationTests {
         Assertions.assertTrue(
                 Objects.requireNonNull(response.getBody()).getRecipeDTOList().size() > 0);
     }
+
+    @Test
+    public void shouldSearchForIncludedAndExcludedIngredients() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        HttpEntity<RecipeFilterSearchDTO> requestEntity = new HttpEntity<>(recipeFilterSearchDTO, headers);
+        ResponseEntity<RecipeResponseDTO> response = testRestTemplate.exchange(
+                contextUrl
+                        + SEARCH
+                        + QUESTION_MARK
+                        + INCLUDE_INGREDIENT_SEARCH
+                        + EQUAL_CHARACTER
+                        + "ingredient1,ingredient3"
+                        + QUERY_APPEND_CHARACTER
+                        + EXCLUDE_INGREDIENT_SEARCH
+                        + EQUAL_CHARACTER
+                        + "ingredient4",
+                HttpMethod.GET,
+                requestEntity,
+                RecipeResponseDTO.class);
+        Assertions.assertEquals(200, response.getStatusCode().value());
+        List<RecipeDTO> recipes = Objects.requireNonNull(response.getBody()).getRecipeDTOList();
+        Assertions.assertEquals(1, recipes.size());
+        Assertions.assertEquals("recipe1", recipes.get(0).getName());
+    }
+
+    @Test
+    public void shouldSearchForIngredientsOfUpdatedRecipe() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        RecipeDTO recipeDTO = RecipeDTO.builder()
+                .name("recipe1")
+                .ingredients(List.of(
+                        Ingredient.builder().ingredientName("ingredient9").build()))
+                .instructions("instruction1")
+                .foodCategory(FoodCategory.VEG)
+                .servings(1)
+                .build();
+        testRestTemplate.exchange(
+                contextUrl + "/update/" + recipeList.get(0).getId(),
+                HttpMethod.PUT,
+                new HttpEntity<>(recipeDTO, headers),
+                RecipeDTO.class);
+
+        ResponseEntity<RecipeResponseDTO> response = testRestTemplate.exchange(
+                contextUrl + SEARCH + QUESTION_MARK + INCLUDE_INGREDIENT_SEARCH + EQUAL_CHARACTER + "ingredient9",
+                HttpMethod.GET,
+                new HttpEntity<>(headers),
+                RecipeResponseDTO.class);
+        Assertions.assertEquals(200, response.getStatusCode().value());
+        List<RecipeDTO> recipes = Objects.requireNonNull(response.getBody()).getRecipeDTOList();
+        Assertions.assertEquals(1, recipes.size());
+        Assertions.assertEquals("recipe1", recipes.get(0).getName());
+    }
+
+    @Test
+    public void shouldPageSearchResultsWithCursor() {
+        List<Recipe> pagedRecipes = new ArrayList<>();
+        for (int index = 0; index < 20; index++) {
+            pagedRecipes.add(Recipe.builder()
+                    .name("pagedRecipe" + index)
+                    .instructions("instruction")
+                    .foodCategory(FoodCategory.VEG)
+                    .servings(7)
+                    .build());
+        }
+        recipeManagerTestRepository.saveAll(pagedRecipes);
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+        String searchUrl = contextUrl + SEARCH + QUESTION_MARK + SERVINGS_SEARCH + EQUAL_CHARACTER + 7;
+
+        RecipeResponseDTO firstPage = testRestTemplate
+                .exchange(searchUrl, HttpMethod.GET, new HttpEntity<>(headers), RecipeResponseDTO.class)
+                .getBody();
+        Assertions.assertEquals(
+                15, Objects.requireNonNull(firstPage).getRecipeDTOList().size());
+        Assertions.assertNotNull(firstPage.getNextCursor());
+
+        RecipeResponseDTO secondPage = testRestTemplate
+                .exchange(
+                        searchUrl + QUERY_APPEND_CHARACTER + "cursor" + EQUAL_CHARACTER + firstPage.getNextCursor(),
+                        HttpMethod.GET,
+                        new HttpEntity<>(headers),
+                        RecipeResponseDTO.class)
+                .getBody();
+        Assertions.assertEquals(
+                5, Objects.requireNonNull(secondPage).getRecipeDTOList().size());
+        Assertions.assertNull(secondPage.getNextCursor());
+        Assertions.assertTrue(firstPage.getRecipeDTOList().get(14).getRecipeId()
+                > secondPage.getRecipeDTOList().get(0).getRecipeId());
+    }
+
+    @Test
+    public void shouldPageAcrossNullSortValuesWithCursor() {
+        List<Recipe> nullableRecipes = new ArrayList<>();
+        for (int index = 0; index < 7; index++) {
+            nullableRecipes.add(Recipe.builder()
+                    .name("nullableRecipe" + index)
+                    .instructions("instruction")
+                    .foodCategory(index % 2 == 0 ? null : FoodCategory.VEG)
+                    .servings(3)
+                    .build());
+        }
+        recipeManagerTestRepository.saveAll(nullableRecipes);
+
+        for (Sort.Direction direction : Sort.Direction.values()) {
+            List<Long> expectedIds = recipeRepository
+                    .findSlicePositions(null, PageRequest.of(0, 1000, direction, "foodCategory"), null)
+                    .map(RecipeCursor::recipeId)
+                    .getContent();
+            List<Long> pagedIds = new ArrayList<>();
+            RecipeCursor cursor = null;
+            Slice<RecipeCursor> slice;
+            do {
+                slice = recipeRepository.findSlicePositions(
+                        null, PageRequest.of(0, 2, direction, "foodCategory"), cursor);
+                slice.forEach(position -> pagedIds.add(position.recipeId()));
+                // through the wire format, as a client would send it back
+                cursor = slice.hasNext()
+                        ? RecipeCursor.decode(slice.getContent()
+                                .get(slice.getContent().size() - 1)
+                                .encode())
+                        : null;
+            } while (cursor != null);
+            Assertions.assertEquals(expectedIds, pagedIds, direction.name());
+        }
+    }
+
+    @Test
+    public void shouldReturnNotModifiedWhileCatalogIsUnchanged() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+        String searchUrl = contextUrl + SEARCH + QUESTION_MARK + FOOD_CATEGORY_SEARCH + EQUAL_CHARACTER + "VEG";
+        ResponseEntity<RecipeResponseDTO> response = testRestTemplate.exchange(
+                searchUrl, HttpMethod.GET, new HttpEntity<>(headers), RecipeResponseDTO.class);
+        String eTag = response.getHeaders().getETag();
+        Assertions.assertNotNull(eTag);
+        // compression adds accept-encoding and the servlet container may lower-case the merged header
+        Assertions.assertTrue(response.getHeaders().getVary().stream().anyMatch(HttpHeaders.ACCEPT::equalsIgnoreCase));
+
+        headers.setIfNoneMatch(eTag);
+        response = testRestTemplate.exchange(
+                searchUrl, HttpMethod.GET, new HttpEntity<>(headers), RecipeResponseDTO.class);
+        Assertions.assertEquals(304, response.getStatusCode().value());
+
+        // the ETag of one search does not validate another one
+        response = testRestTemplate.exchange(
+                contextUrl + SEARCH + QUESTION_MARK + FOOD_CATEGORY_SEARCH + EQUAL_CHARACTER + "UNKOWN",
+                HttpMethod.GET,
+                new HttpEntity<>(headers),
+                RecipeResponseDTO.class);
+        Assertions.assertEquals(200, response.getStatusCode().value());
+
+        recipeManagerTestRepository.save(Recipe.builder()
+                .name("recipe3")
+                .foodCategory(FoodCategory.VEG)
+                .servings(3)
+                .build());
+        response = testRestTemplate.exchange(
+                searchUrl, HttpMethod.GET, new HttpEntity<>(headers), RecipeResponseDTO.class);
+        Assertions.assertEquals(200, response.getStatusCode().value());
+    }
+
+    @Test
+    public void shouldReturnFacetCountsOfSearchResult() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+        String searchUrl = contextUrl + SEARCH + QUESTION_MARK + RECIPE_NAME + EQUAL_CHARACTER + "recipe1";
+        ResponseEntity<RecipeResponseDTO> response = testRestTemplate.exchange(
+                searchUrl + QUERY_APPEND_CHARACTER + "facets=true",
+                HttpMethod.GET,
+                new HttpEntity<>(headers),
+                RecipeResponseDTO.class);
+        Assertions.assertEquals(200, response.getStatusCode().value());
+        RecipeFacetsDTO facets = Objects.requireNonNull(response.getBody()).getFacets();
+        Assertions.assertEquals(1, facets.getTotal());
+        Assertions.assertEquals("VEG", facets.getFoodCategories().get(0).getValue());
+        Assertions.assertEquals("1", facets.getServings().get(0).getValue());
+        Assertions.assertEquals(2, facets.getIngredients().size());
+
+        response = testRestTemplate.exchange(
+                searchUrl, HttpMethod.GET, new HttpEntity<>(headers), RecipeResponseDTO.class);
+        Assertions.assertNull(Objects.requireNonNull(response.getBody()).getFacets());
+    }
+
+    @Test
+    public void shouldSuggestNamesByPrefix() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+        ResponseEntity<RecipeSuggestionResponseDTO> response = testRestTemplate.exchange(
+                contextUrl + "/suggest?prefix=RECIPE",
+                HttpMethod.GET,
+                new HttpEntity<>(headers),
+                RecipeSuggestionResponseDTO.class);
+        Assertions.assertEquals(200, response.getStatusCode().value());
+        RecipeSuggestionResponseDTO suggestions = Objects.requireNonNull(response.getBody());
+        Assertions.assertTrue(suggestions.getRecipes().containsAll(List.of("recipe1", "recipe2")));
+        Assertions.assertTrue(suggestions.getIngredients().isEmpty());
+
+        response = testRestTemplate.exchange(
+                contextUrl + "/suggest?prefix=ingredient&limit=2",
+                HttpMethod.GET,
+                new HttpEntity<>(headers),
+                RecipeSuggestionResponseDTO.class);
+        Assertions.assertEquals(
+                2, Objects.requireNonNull(response.getBody()).getIngredients().size());
+
+        response = testRestTemplate.exchange(
+                contextUrl + "/suggest?prefix= ",
+                HttpMethod.GET,
+                new HttpEntity<>(headers),
+                RecipeSuggestionResponseDTO.class);
+        Assertions.assertEquals(400, response.getStatusCode().value());
+    }
+
+    @Test
+    public void shouldRankRecipesByPantryCoverage() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        PantryMatchRequestDTO pantryMatchRequestDTO = PantryMatchRequestDTO.builder()
+                .ingredients(List.of("ingredient1", "ingredient2", "ingredient3"))
+                .build();
+        ResponseEntity<PantryMatchResponseDTO> response = testRestTemplate.exchange(
+                contextUrl + "/pantry-match",
+                HttpMethod.POST,
+                new HttpEntity<>(pantryMatchRequestDTO, headers),
+                PantryMatchResponseDTO.class);
+        Assertions.assertEquals(200, response.getStatusCode().value());
+        List<PantryMatchDTO> matches =
+                Objects.requireNonNull(response.getBody()).getMatches();
+        Assertions.assertEquals(2, matches.size());
+        Assertions.assertEquals("recipe1", matches.get(0).getRecipe().getName());
+        Assertions.assertEquals(1.0, matches.get(0).getCoverage());
+        Assertions.assertEquals(List.of("ingredient4"), matches.get(1).getMissingIngredientNames());
+
+        pantryMatchRequestDTO.setIngredients(List.of());
+        response = testRestTemplate.exchange(
+                contextUrl + "/pantry-match",
+                HttpMethod.POST,
+                new HttpEntity<>(pantryMatchRequestDTO, headers),
+                PantryMatchResponseDTO.class);
+        Assertions.assertEquals(400, response.getStatusCode().value());
+    }
 }
@@ -0,0 +1,59 @@
+package com.manage.recipe.unit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.protobuf.ProtobufMapper;
+import com.manage.recipe.configuration.JacksonProtobufHttpMessageConverter;
+import com.manage.recipe.model.FoodCategory;
+import com.manage.recipe.model.dao.Ingredient;
+import com.manage.recipe.model.dto.RecipeDTO;
+import com.manage.recipe.model.dto.RecipeResponseDTO;
+import com.manage.recipe.model.dto.SlowQueryDTO;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.http.MockHttpInputMessage;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+public class JacksonProtobufHttpMessageConverterTest {
+
+    private final JacksonProtobufHttpMessageConverter converter = new JacksonProtobufHttpMessageConverter(
+            new ProtobufMapper(), Set.of(RecipeDTO.class, RecipeResponseDTO.class));
+
+    @Test
+    public void test_recipe_response_round_trip() throws Exception {
+        RecipeResponseDTO recipeResponseDTO = RecipeResponseDTO.builder()
+                .status(200)
+                .recipeDTOList(List.of(RecipeDTO.builder()
+                        .recipeId(7L)
+                        .name("Pancakes")
+                        .foodCategory(FoodCategory.VEG)
+                        .servings(4)
+                        .ingredients(List.of(
+                                Ingredient.builder().ingredientName("flour").build(),
+                                Ingredient.builder().ingredientName("milk").build()))
+                        .instructions("Whisk and fry")
+                        .build()))
+                .nextCursor("Nzo3")
+                .build();
+
+        MockHttpOutputMessage outputMessage = new MockHttpOutputMessage();
+        converter.write(recipeResponseDTO, JacksonProtobufHttpMessageConverter.APPLICATION_PROTOBUF, outputMessage);
+        byte[] protobuf = outputMessage.getBodyAsBytes();
+        RecipeResponseDTO readBack =
+                (RecipeResponseDTO) converter.read(RecipeResponseDTO.class, new MockHttpInputMessage(protobuf));
+
+        Assertions.assertEquals(recipeResponseDTO, readBack);
+        Assertions.assertTrue(protobuf.length < new ObjectMapper().writeValueAsBytes(recipeResponseDTO).length);
+    }
+
+    @Test
+    public void test_supports_only_message_types() {
+        Assertions.assertTrue(
+                converter.canWrite(RecipeDTO.class, JacksonProtobufHttpMessageConverter.APPLICATION_PROTOBUF));
+        Assertions.assertFalse(
+                converter.canWrite(SlowQueryDTO.class, JacksonProtobufHttpMessageConverter.APPLICATION_PROTOBUF));
+        Assertions.assertTrue(
+                converter.schema(RecipeResponseDTO.class).getSource().toString().contains("RecipeDTO"));
+    }
+}
@@ -0,0 +1,43 @@
+package com.manage.recipe.unit;
+
+import com.manage.recipe.service.JwtServiceImpl;
+import io.jsonwebtoken.Claims;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+
+public class JwtServiceImplTest {
+    private static final String SECRET =
+            "A31E8C6D5BF7E9A08C6D7E528A4F01B5E26C9D0F387E4A1B5C76D4E7A9081B5A3E28C76D7A08C6D5B7E9A0B4C76D8A4F012E5C6D9A";
+
+    private JwtServiceImpl jwtService;
+
+    @BeforeEach
+    public void setUp() {
+        jwtService = new JwtServiceImpl(SECRET, Duration.ofMinutes(5), 100);
+    }
+
+    @Test
+    public void test_verify_token_parses_once() {
+        String token = jwtService.generateToken(Map.of(), "user");
+
+        Optional<Claims> claims = jwtService.verifyToken(token);
+
+        Assertions.assertEquals("user", claims.map(Claims::getSubject).orElse(null));
+        Assertions.assertSame(claims.get(), jwtService.verifyToken(token).get());
+        Assertions.assertTrue(jwtService.isTokenValid(
+                token, User.withUsername("user").password("user").roles("USER").build()));
+    }
+
+    @Test
+    public void test_verify_tampered_token() {
+        String token = jwtService.generateToken(Map.of(), "user");
+
+        Assertions.assertTrue(jwtService.verifyToken(token + "x").isEmpty());
+        Assertions.assertNull(jwtService.extractUsername("not-a-token"));
+    }
+}
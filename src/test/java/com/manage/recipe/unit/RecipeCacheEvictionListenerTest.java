@@ -0,0 +1,48 @@
+package com.manage.recipe.unit;
+
+import com.manage.recipe.configuration.CacheConfig;
+import com.manage.recipe.event.RecipeCacheEvictionListener;
+import com.manage.recipe.event.RecipeChangeEvent;
+import com.manage.recipe.model.dao.Recipe;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+public class RecipeCacheEvictionListenerTest {
+    private final ConcurrentMapCacheManager cacheManager =
+            new ConcurrentMapCacheManager(CacheConfig.RECIPES_BY_ID, CacheConfig.RECIPE_IDS_BY_NAME);
+    private final RecipeCacheEvictionListener recipeCacheEvictionListener =
+            new RecipeCacheEvictionListener(cacheManager);
+    private Cache recipeIdsByName;
+
+    @BeforeEach
+    public void setUp() {
+        recipeIdsByName = cacheManager.getCache(CacheConfig.RECIPE_IDS_BY_NAME);
+        recipeIdsByName.put("soup", 1L);
+        recipeIdsByName.put("cake", 2L);
+        cacheManager.getCache(CacheConfig.RECIPES_BY_ID).put(1L, "recipe");
+    }
+
+    @Test
+    public void test_rename_evicts_previous_and_new_name_only() {
+        Recipe recipe = Recipe.builder().id(1L).name("broth").build();
+
+        recipeCacheEvictionListener.onRecipeChange(
+                new RecipeChangeEvent(1L, RecipeChangeEvent.ChangeType.SAVED, recipe, "soup"));
+
+        Assertions.assertNull(recipeIdsByName.get("soup"));
+        Assertions.assertNotNull(recipeIdsByName.get("cake"));
+        Assertions.assertNull(cacheManager.getCache(CacheConfig.RECIPES_BY_ID).get(1L));
+    }
+
+    @Test
+    public void test_removal_evicts_previous_name() {
+        recipeCacheEvictionListener.onRecipeChange(
+                new RecipeChangeEvent(2L, RecipeChangeEvent.ChangeType.REMOVED, null, "cake"));
+
+        Assertions.assertNull(recipeIdsByName.get("cake"));
+        Assertions.assertNotNull(recipeIdsByName.get("soup"));
+    }
+}
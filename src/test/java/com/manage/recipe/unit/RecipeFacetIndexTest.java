@@ -0,0 +1,88 @@
+package com.manage.recipe.unit;
+
+import static org.mockito.Mockito.*;
+
+import com.manage.recipe.event.RecipeChangeEvent;
+import com.manage.recipe.index.RecipeFacetIndex;
+import com.manage.recipe.model.FoodCategory;
+import com.manage.recipe.model.dao.Recipe;
+import com.manage.recipe.model.dto.FacetCountDTO;
+import com.manage.recipe.repository.RecipeRepository;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.roaringbitmap.longlong.Roaring64NavigableMap;
+
+@ExtendWith(MockitoExtension.class)
+public class RecipeFacetIndexTest {
+    private RecipeFacetIndex recipeFacetIndex;
+
+    @Mock
+    private RecipeRepository recipeRepository;
+
+    @BeforeEach
+    public void setUp() {
+        recipeFacetIndex = new RecipeFacetIndex(recipeRepository, new int[] {1, 2, 4});
+        when(recipeRepository.findAllFacetColumns())
+                .thenReturn(List.of(
+                        new Object[] {1L, FoodCategory.VEG, 1},
+                        new Object[] {2L, FoodCategory.VEG, 3},
+                        new Object[] {3L, FoodCategory.UNKOWN, 4},
+                        new Object[] {4L, null, 10}));
+        recipeFacetIndex.rebuild();
+    }
+
+    @Test
+    public void test_count_facets_of_result() {
+        Roaring64NavigableMap recipeIds = Roaring64NavigableMap.bitmapOf(1L, 2L, 3L, 4L);
+
+        Assertions.assertTrue(recipeFacetIndex.isReady());
+        Assertions.assertEquals(
+                List.of(new FacetCountDTO("VEG", 2), new FacetCountDTO("UNKOWN", 1)),
+                recipeFacetIndex.countFoodCategories(recipeIds));
+        Assertions.assertEquals(
+                List.of(new FacetCountDTO("1", 1), new FacetCountDTO("3-4", 2), new FacetCountDTO("5+", 1)),
+                recipeFacetIndex.countServings(recipeIds));
+        Assertions.assertEquals(
+                List.of(new FacetCountDTO("3-4", 1)),
+                recipeFacetIndex.countServings(Roaring64NavigableMap.bitmapOf(3L)));
+    }
+
+    @Test
+    public void test_retain_food_category_and_servings() {
+        Roaring64NavigableMap recipeIds = Roaring64NavigableMap.bitmapOf(1L, 2L, 3L, 4L);
+        recipeFacetIndex.retain(recipeIds, FoodCategory.VEG, null);
+        Assertions.assertEquals(Roaring64NavigableMap.bitmapOf(1L, 2L), recipeIds);
+
+        recipeFacetIndex.retain(recipeIds, null, 3);
+        Assertions.assertEquals(Roaring64NavigableMap.bitmapOf(2L), recipeIds);
+
+        recipeFacetIndex.retain(recipeIds, null, 7);
+        Assertions.assertTrue(recipeIds.isEmpty());
+    }
+
+    @Test
+    public void test_recipe_change_events_move_recipes() {
+        recipeFacetIndex.onRecipeChange(new RecipeChangeEvent(
+                1L,
+                RecipeChangeEvent.ChangeType.SAVED,
+                Recipe.builder()
+                        .id(1L)
+                        .foodCategory(FoodCategory.UNKOWN)
+                        .servings(2)
+                        .build()));
+        recipeFacetIndex.onRecipeChange(new RecipeChangeEvent(4L, RecipeChangeEvent.ChangeType.REMOVED, null));
+        Roaring64NavigableMap recipeIds = Roaring64NavigableMap.bitmapOf(1L, 2L, 3L, 4L);
+
+        Assertions.assertEquals(
+                List.of(new FacetCountDTO("VEG", 1), new FacetCountDTO("UNKOWN", 2)),
+                recipeFacetIndex.countFoodCategories(recipeIds));
+        Assertions.assertEquals(
+                List.of(new FacetCountDTO("2", 1), new FacetCountDTO("3-4", 2)),
+                recipeFacetIndex.countServings(recipeIds));
+    }
+}
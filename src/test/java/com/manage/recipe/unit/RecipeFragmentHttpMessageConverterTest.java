@@ -0,0 +1,104 @@
+package com.manage.recipe.unit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.manage.recipe.configuration.RecipeFragmentHttpMessageConverter;
+import com.manage.recipe.event.RecipeChangeEvent;
+import com.manage.recipe.model.FoodCategory;
+import com.manage.recipe.model.dao.Ingredient;
+import com.manage.recipe.model.dto.FacetCountDTO;
+import com.manage.recipe.model.dto.RecipeDTO;
+import com.manage.recipe.model.dto.RecipeFacetsDTO;
+import com.manage.recipe.model.dto.RecipeResponseDTO;
+import com.manage.recipe.util.RecipeFragmentCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.MockHttpOutputMessage;
+import org.springframework.util.unit.DataSize;
+
+public class RecipeFragmentHttpMessageConverterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final RecipeFragmentCache recipeFragmentCache =
+            new RecipeFragmentCache(objectMapper, new SimpleMeterRegistry(), DataSize.ofMegabytes(1));
+    private final RecipeFragmentHttpMessageConverter converter =
+            new RecipeFragmentHttpMessageConverter(recipeFragmentCache, objectMapper);
+
+    @Test
+    public void test_page_is_written_like_jackson() throws Exception {
+        RecipeResponseDTO recipeResponseDTO = RecipeResponseDTO.builder()
+                .status(200)
+                .recipeDTOList(List.of(recipeDTO(1L, 0), recipeDTO(2L, 3)))
+                .nextCursor("Mjoy")
+                .build();
+
+        MockHttpOutputMessage outputMessage = new MockHttpOutputMessage();
+        converter.write(recipeResponseDTO, MediaType.APPLICATION_JSON, outputMessage);
+
+        Assertions.assertEquals(
+                objectMapper.writeValueAsString(recipeResponseDTO),
+                outputMessage.getBodyAsString(StandardCharsets.UTF_8));
+
+        recipeResponseDTO.setRecipeDTOList(List.of());
+        recipeResponseDTO.setNextCursor(null);
+        outputMessage = new MockHttpOutputMessage();
+        converter.write(recipeResponseDTO, MediaType.APPLICATION_JSON, outputMessage);
+
+        Assertions.assertEquals(
+                objectMapper.writeValueAsString(recipeResponseDTO),
+                outputMessage.getBodyAsString(StandardCharsets.UTF_8));
+
+        recipeResponseDTO.setFacets(RecipeFacetsDTO.builder()
+                .total(1)
+                .foodCategories(List.of(new FacetCountDTO("VEG", 1)))
+                .servings(List.of(new FacetCountDTO("2", 1)))
+                .ingredients(List.of(new FacetCountDTO("salt", 1)))
+                .build());
+        outputMessage = new MockHttpOutputMessage();
+        converter.write(recipeResponseDTO, MediaType.APPLICATION_JSON, outputMessage);
+
+        Assertions.assertEquals(
+                objectMapper.writeValueAsString(recipeResponseDTO),
+                outputMessage.getBodyAsString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void test_fragment_is_reused_per_version() {
+        RecipeFragmentCache.RecipeFragment fragment = recipeFragmentCache.fragment(recipeDTO(1L, 0));
+
+        Assertions.assertSame(fragment, recipeFragmentCache.fragment(recipeDTO(1L, 0)));
+        Assertions.assertNotSame(fragment, recipeFragmentCache.fragment(recipeDTO(1L, 1)));
+
+        fragment = recipeFragmentCache.fragment(recipeDTO(1L, 1));
+        recipeFragmentCache.onRecipeChange(new RecipeChangeEvent(1L, RecipeChangeEvent.ChangeType.REMOVED, null));
+        Assertions.assertNotSame(fragment, recipeFragmentCache.fragment(recipeDTO(1L, 1)));
+    }
+
+    @Test
+    public void test_recipe_is_written_uncompressed() throws Exception {
+        RecipeDTO recipeDTO = recipeDTO(1L, 0);
+
+        MockHttpOutputMessage outputMessage = new MockHttpOutputMessage();
+        converter.write(recipeDTO, MediaType.APPLICATION_JSON, outputMessage);
+
+        Assertions.assertEquals(
+                objectMapper.writeValueAsString(recipeDTO), outputMessage.getBodyAsString(StandardCharsets.UTF_8));
+        Assertions.assertNull(outputMessage.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+    }
+
+    private static RecipeDTO recipeDTO(Long recipeId, long version) {
+        return RecipeDTO.builder()
+                .recipeId(recipeId)
+                .name("Recipe " + recipeId)
+                .foodCategory(FoodCategory.VEG)
+                .servings(2)
+                .ingredients(List.of(Ingredient.builder().ingredientName("salt").build()))
+                .instructions("Stir \"well\" and serve")
+                .version(version)
+                .build();
+    }
+}
@@ -0,0 +1,128 @@
+package com.manage.recipe.unit;
+
+import static org.mockito.Mockito.*;
+
+import com.manage.recipe.event.RecipeChangeEvent;
+import com.manage.recipe.index.RecipeFullTextIndex;
+import com.manage.recipe.model.FoodCategory;
+import com.manage.recipe.model.dao.Recipe;
+import com.manage.recipe.model.dto.RecipeFilterSearchDTO;
+import com.manage.recipe.repository.RecipeRepository;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.roaringbitmap.longlong.Roaring64NavigableMap;
+
+public class RecipeFullTextIndexTest {
+    private RecipeFullTextIndex recipeFullTextIndex;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        RecipeRepository recipeRepository = mock(RecipeRepository.class);
+        when(recipeRepository.streamAllSearchableColumns())
+                .thenReturn(Stream.of(
+                        new Object[] {1L, "soup", FoodCategory.VEG, 2, "Chop the onions and stir the soup"},
+                        new Object[] {2L, "cake", FoodCategory.VEG, 8, "Bake in the oven, stir once"},
+                        new Object[] {3L, "stew", FoodCategory.UNKOWN, 4, "Stir the stew. Stir again and stir"}));
+        recipeFullTextIndex = new RecipeFullTextIndex(recipeRepository, Duration.ofMillis(25), Duration.ofSeconds(1));
+        recipeFullTextIndex.rebuild();
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        recipeFullTextIndex.close();
+    }
+
+    @Test
+    public void test_search_terms_are_and_ed_and_stemmed() {
+        Assertions.assertTrue(recipeFullTextIndex.isReady());
+        Assertions.assertEquals(List.of(1L), search("chopped onion stirring"));
+        Assertions.assertEquals(List.of(2L), search("oven stir"));
+        Assertions.assertTrue(search("oven onions").isEmpty());
+    }
+
+    @Test
+    public void test_search_phrase() {
+        Assertions.assertEquals(List.of(2L), search("\"bake in the oven\""));
+        Assertions.assertTrue(search("\"oven bake\"").isEmpty());
+    }
+
+    @Test
+    public void test_search_ranked_by_relevance() {
+        Assertions.assertEquals(3L, search("stir").get(0));
+        Assertions.assertEquals(3, search("stir").size());
+    }
+
+    @Test
+    public void test_search_with_filters_and_candidates() {
+        RecipeFilterSearchDTO filterDTO = RecipeFilterSearchDTO.builder()
+                .searchTextInInstructions("stir")
+                .foodCategory("VEG")
+                .servings(2)
+                .build();
+        Assertions.assertEquals(List.of(1L), recipeFullTextIndex.search(filterDTO, null, 0, 10));
+
+        filterDTO =
+                RecipeFilterSearchDTO.builder().searchTextInInstructions("stir").build();
+        Assertions.assertEquals(
+                List.of(2L), recipeFullTextIndex.search(filterDTO, Roaring64NavigableMap.bitmapOf(2L, 7L), 0, 10));
+        Assertions.assertEquals(
+                1, recipeFullTextIndex.search(filterDTO, null, 2, 10).size());
+    }
+
+    @Test
+    public void test_match_returns_all_hits() {
+        RecipeFilterSearchDTO filterDTO =
+                RecipeFilterSearchDTO.builder().searchTextInInstructions("stir").build();
+        Assertions.assertEquals(Roaring64NavigableMap.bitmapOf(1L, 2L, 3L), recipeFullTextIndex.match(filterDTO, null));
+        Assertions.assertEquals(
+                Roaring64NavigableMap.bitmapOf(3L),
+                recipeFullTextIndex.match(filterDTO, Roaring64NavigableMap.bitmapOf(3L, 7L)));
+    }
+
+    @Test
+    public void test_stop_words_only_match_nothing() {
+        Assertions.assertTrue(search("the and").isEmpty());
+        Assertions.assertTrue(recipeFullTextIndex
+                .match(
+                        RecipeFilterSearchDTO.builder()
+                                .searchTextInInstructions("the")
+                                .build(),
+                        null)
+                .isEmpty());
+    }
+
+    @Test
+    public void test_recipe_change_events_update_documents() {
+        Recipe updatedRecipe = Recipe.builder()
+                .id(1L)
+                .name("soup")
+                .servings(2)
+                .instructions("Simmer gently")
+                .build();
+        recipeFullTextIndex.onRecipeChange(
+                new RecipeChangeEvent(1L, RecipeChangeEvent.ChangeType.SAVED, updatedRecipe));
+        RecipeChangeEvent removal = new RecipeChangeEvent(3L, RecipeChangeEvent.ChangeType.REMOVED, null);
+        recipeFullTextIndex.onRecipeChange(removal);
+        // a transaction applies all of its changes first and waits once
+        recipeFullTextIndex.awaitRecipeChange(removal);
+
+        Assertions.assertEquals(List.of(1L), search("simmer"));
+        Assertions.assertEquals(List.of(2L), search("stir"));
+    }
+
+    private List<Long> search(String searchText) {
+        return recipeFullTextIndex.search(
+                RecipeFilterSearchDTO.builder()
+                        .searchTextInInstructions(searchText)
+                        .build(),
+                null,
+                0,
+                10);
+    }
+}
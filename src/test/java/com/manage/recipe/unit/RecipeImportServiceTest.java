@@ -0,0 +1,152 @@
+package com.manage.recipe.unit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.manage.recipe.index.RecipeNameFilter;
+import com.manage.recipe.model.FoodCategory;
+import com.manage.recipe.model.dao.Recipe;
+import com.manage.recipe.model.dto.RecipeDTO;
+import com.manage.recipe.model.dto.RecipeImportResponseDTO;
+import com.manage.recipe.model.dto.RecipeImportResultDTO;
+import com.manage.recipe.repository.RecipeRepository;
+import com.manage.recipe.service.RecipeImportService;
+import com.manage.recipe.util.RecipeModelMapper;
+import jakarta.validation.Validation;
+import java.util.*;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@ExtendWith(MockitoExtension.class)
+public class RecipeImportServiceTest {
+
+    @Mock
+    private RecipeRepository recipeRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private RecipeImportService recipeImportService;
+    private RecipeNameFilter recipeNameFilter;
+
+    @BeforeEach
+    public void setUp() {
+        recipeNameFilter = new RecipeNameFilter(recipeRepository, 1000, 0.01);
+        recipeImportService = new RecipeImportService(
+                recipeRepository,
+                new RecipeModelMapper(),
+                transactionTemplate,
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                recipeNameFilter,
+                new ObjectMapper());
+        ReflectionTestUtils.setField(recipeImportService, "chunkSize", 2);
+        doAnswer(invocation -> {
+                    Consumer<TransactionStatus> action = invocation.getArgument(0);
+                    action.accept(null);
+                    return null;
+                })
+                .when(transactionTemplate)
+                .executeWithoutResult(any());
+    }
+
+    @Test
+    public void test_import_recipes_in_chunks() {
+        when(recipeRepository.findExistingNames(anyCollection())).thenReturn(Set.of("existing"));
+        long[] nextId = {1};
+        doAnswer(invocation -> {
+                    List<Recipe> recipes = invocation.getArgument(0);
+                    recipes.forEach(recipe -> recipe.setId(nextId[0]++));
+                    return null;
+                })
+                .when(recipeRepository)
+                .insertAll(any());
+
+        RecipeImportResponseDTO response = recipeImportService.importRecipes(
+                List.of(recipeDTO("first"), recipeDTO("existing"), recipeDTO("first"), recipeDTO(""), recipeDTO("last"))
+                        .iterator());
+
+        Assertions.assertEquals(2, response.getCreated());
+        Assertions.assertEquals(3, response.getRejected());
+        List<RecipeImportResultDTO> results = response.getResults();
+        Assertions.assertEquals(5, results.size());
+        Assertions.assertEquals(1L, results.get(0).getRecipeId());
+        Assertions.assertEquals("Recipe name already exists", results.get(1).getError());
+        Assertions.assertEquals(
+                "Recipe name is repeated in the import", results.get(2).getError());
+        Assertions.assertEquals(
+                RecipeImportResultDTO.ImportStatus.REJECTED, results.get(3).getImportStatus());
+        Assertions.assertEquals(4, results.get(4).getIndex());
+        Assertions.assertEquals(2L, results.get(4).getRecipeId());
+        verify(recipeRepository, times(3)).findExistingNames(anyCollection());
+        verify(recipeRepository, times(2)).insertAll(any());
+    }
+
+    @Test
+    public void test_import_reports_failed_chunk() {
+        when(recipeRepository.findExistingNames(anyCollection())).thenReturn(Set.of());
+        doThrow(new DataIntegrityViolationException("duplicate"))
+                .when(recipeRepository)
+                .insertAll(any());
+
+        RecipeImportResponseDTO response =
+                recipeImportService.importRecipes(List.of(recipeDTO("first")).iterator());
+
+        Assertions.assertEquals(0, response.getCreated());
+        Assertions.assertEquals(
+                "Recipe could not be saved", response.getResults().get(0).getError());
+    }
+
+    @Test
+    public void test_import_skips_lookup_of_definitely_new_names() {
+        when(recipeRepository.findAllNames()).thenReturn(List.of("existing"));
+        when(recipeRepository.findExistingNames(Set.of("existing"))).thenReturn(Set.of("existing"));
+        recipeNameFilter.rebuild();
+
+        RecipeImportResponseDTO response =
+                recipeImportService.importRecipes(List.of(recipeDTO("new"), recipeDTO("newer"), recipeDTO("existing"))
+                        .iterator());
+
+        Assertions.assertEquals(2, response.getCreated());
+        Assertions.assertEquals(
+                "Recipe name already exists", response.getResults().get(2).getError());
+        verify(recipeRepository, times(1)).findExistingNames(anyCollection());
+    }
+
+    @Test
+    public void test_import_lines_rejects_malformed_line_only() {
+        RecipeImportResponseDTO response = recipeImportService.importRecipeLines(
+                List.of("{\"name\":\"first\",\"servings\":1}", "{\"name\":", "{\"name\":\"last\",\"servings\":1}")
+                        .iterator());
+
+        Assertions.assertEquals(2, response.getCreated());
+        Assertions.assertEquals(
+                RecipeImportResultDTO.ImportStatus.REJECTED,
+                response.getResults().get(1).getImportStatus());
+        Assertions.assertEquals(
+                "Malformed recipe JSON", response.getResults().get(1).getError());
+        Assertions.assertEquals(
+                RecipeImportResultDTO.ImportStatus.CREATED,
+                response.getResults().get(2).getImportStatus());
+        verify(recipeRepository, times(2)).insertAll(any());
+    }
+
+    private RecipeDTO recipeDTO(String name) {
+        return RecipeDTO.builder()
+                .name(name)
+                .foodCategory(FoodCategory.VEG)
+                .servings(1)
+                .ingredients(new ArrayList<>())
+                .build();
+    }
+}
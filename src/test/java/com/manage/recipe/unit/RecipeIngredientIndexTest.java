@@ -0,0 +1,131 @@
+package com.manage.recipe.unit;
+
+import static org.mockito.Mockito.*;
+
+import com.manage.recipe.event.RecipeChangeEvent;
+import com.manage.recipe.index.PantryMatch;
+import com.manage.recipe.index.RecipeIngredientIndex;
+import com.manage.recipe.model.dao.Ingredient;
+import com.manage.recipe.model.dao.Recipe;
+import com.manage.recipe.model.dto.FacetCountDTO;
+import com.manage.recipe.repository.RecipeRepository;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.roaringbitmap.longlong.Roaring64NavigableMap;
+
+@ExtendWith(MockitoExtension.class)
+public class RecipeIngredientIndexTest {
+    @InjectMocks
+    private RecipeIngredientIndex recipeIngredientIndex;
+
+    @Mock
+    private RecipeRepository recipeRepository;
+
+    @BeforeEach
+    public void setUp() {
+        when(recipeRepository.findAllRecipeIngredientNames())
+                .thenReturn(List.of(
+                        new Object[] {1L, "salt"},
+                        new Object[] {1L, "sugar"},
+                        new Object[] {2L, "salt"},
+                        new Object[] {2L, "pepper"},
+                        new Object[] {3L, null}));
+        recipeIngredientIndex.rebuild();
+    }
+
+    @Test
+    public void test_match_included_ingredients() {
+        Assertions.assertTrue(recipeIngredientIndex.isReady());
+        Assertions.assertEquals(
+                Roaring64NavigableMap.bitmapOf(1L, 2L), recipeIngredientIndex.match(List.of("salt"), null));
+        Assertions.assertEquals(
+                Roaring64NavigableMap.bitmapOf(1L, 2L), recipeIngredientIndex.match(List.of("sugar", "pepper"), null));
+        Assertions.assertTrue(
+                recipeIngredientIndex.match(List.of("saffron"), null).isEmpty());
+    }
+
+    @Test
+    public void test_match_excluded_ingredients() {
+        Assertions.assertEquals(
+                Roaring64NavigableMap.bitmapOf(2L, 3L), recipeIngredientIndex.match(null, List.of("sugar")));
+        Assertions.assertEquals(
+                Roaring64NavigableMap.bitmapOf(1L), recipeIngredientIndex.match(List.of("salt"), List.of("pepper")));
+    }
+
+    @Test
+    public void test_recipe_change_events_update_postings() {
+        Recipe updatedRecipe = Recipe.builder()
+                .id(1L)
+                .ingredients(
+                        List.of(Ingredient.builder().ingredientName("pepper").build()))
+                .build();
+        recipeIngredientIndex.onRecipeChange(
+                new RecipeChangeEvent(1L, RecipeChangeEvent.ChangeType.SAVED, updatedRecipe));
+        recipeIngredientIndex.onRecipeChange(new RecipeChangeEvent(2L, RecipeChangeEvent.ChangeType.REMOVED, null));
+
+        Assertions.assertTrue(
+                recipeIngredientIndex.match(List.of("sugar"), null).isEmpty());
+        Assertions.assertEquals(
+                Roaring64NavigableMap.bitmapOf(1L), recipeIngredientIndex.match(List.of("pepper", "salt"), null));
+        Assertions.assertEquals(Roaring64NavigableMap.bitmapOf(1L, 3L), recipeIngredientIndex.match(null, null));
+    }
+
+    @Test
+    public void test_match_pantry_ranks_by_coverage() {
+        List<PantryMatch> matches = recipeIngredientIndex.matchPantry(List.of("salt", "sugar"), 10, Integer.MAX_VALUE);
+
+        Assertions.assertEquals(List.of(new PantryMatch(1L, 2, 2), new PantryMatch(2L, 1, 2)), matches);
+        Assertions.assertEquals(1.0, matches.get(0).coverage());
+        Assertions.assertEquals(1, matches.get(1).missingIngredients());
+        Assertions.assertEquals(
+                List.of(new PantryMatch(1L, 2, 2)), recipeIngredientIndex.matchPantry(List.of("salt", "sugar"), 1, 5));
+        Assertions.assertEquals(
+                List.of(new PantryMatch(1L, 1, 2), new PantryMatch(2L, 1, 2)),
+                recipeIngredientIndex.matchPantry(List.of("salt"), 10, 1));
+        Assertions.assertTrue(
+                recipeIngredientIndex.matchPantry(List.of("salt"), 10, 0).isEmpty());
+        Assertions.assertTrue(
+                recipeIngredientIndex.matchPantry(List.of("saffron"), 10, 5).isEmpty());
+    }
+
+    @Test
+    public void test_top_pantry_matches_keep_best() {
+        PantryMatch.TopMatches topMatches = new PantryMatch.TopMatches(2);
+        topMatches.offer(1L, 1, 4);
+        topMatches.offer(2L, 2, 2);
+        topMatches.offer(3L, 1, 2);
+        topMatches.offer(4L, 2, 4);
+
+        Assertions.assertEquals(List.of(new PantryMatch(2L, 2, 2), new PantryMatch(3L, 1, 2)), topMatches.best());
+    }
+
+    @Test
+    public void test_count_ingredients_of_result() {
+        Roaring64NavigableMap recipeIds = Roaring64NavigableMap.bitmapOf(1L, 2L, 3L);
+
+        Assertions.assertEquals(
+                List.of(new FacetCountDTO("salt", 2), new FacetCountDTO("pepper", 1), new FacetCountDTO("sugar", 1)),
+                recipeIngredientIndex.countIngredients(recipeIds, 10));
+        Assertions.assertEquals(
+                List.of(new FacetCountDTO("salt", 2)), recipeIngredientIndex.countIngredients(recipeIds, 1));
+        Assertions.assertEquals(
+                List.of(new FacetCountDTO("pepper", 1), new FacetCountDTO("salt", 1)),
+                recipeIngredientIndex.countIngredients(Roaring64NavigableMap.bitmapOf(2L), 10));
+    }
+
+    @Test
+    public void test_page_recipe_ids() {
+        Roaring64NavigableMap recipeIds = Roaring64NavigableMap.bitmapOf(5L, 7L, 9L, 11L);
+
+        Assertions.assertEquals(List.of(11L, 9L), RecipeIngredientIndex.page(recipeIds, 0, 2, true));
+        Assertions.assertEquals(List.of(9L, 11L), RecipeIngredientIndex.page(recipeIds, 2, 2, false));
+        Assertions.assertEquals(List.of(5L), RecipeIngredientIndex.page(recipeIds, 3, 2, true));
+        Assertions.assertTrue(RecipeIngredientIndex.page(recipeIds, 4, 2, true).isEmpty());
+    }
+}
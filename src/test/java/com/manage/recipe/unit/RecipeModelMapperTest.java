@@ -0,0 +1,77 @@
+package com.manage.recipe.unit;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.manage.recipe.exception.InvalidRecipeRequestException;
+import com.manage.recipe.model.FoodCategory;
+import com.manage.recipe.model.dao.Ingredient;
+import com.manage.recipe.model.dao.Recipe;
+import com.manage.recipe.util.RecipeModelMapper;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class RecipeModelMapperTest {
+    private final RecipeModelMapper recipeModelMapper = new RecipeModelMapper();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private Ingredient salt;
+    private Recipe recipe;
+
+    @BeforeEach
+    public void setUp() {
+        salt = Ingredient.builder().id(1L).ingredientName("salt").build();
+        recipe = Recipe.builder()
+                .id(1L)
+                .name("soup")
+                .foodCategory(FoodCategory.VEG)
+                .servings(2)
+                .instructions("boil")
+                .ingredients(new ArrayList<>(List.of(
+                        salt,
+                        Ingredient.builder().id(2L).ingredientName("pepper").build())))
+                .build();
+    }
+
+    @Test
+    public void test_patch_keeps_missing_fields_and_clears_null_ones() throws Exception {
+        recipeModelMapper.patchedRecipe(recipe, objectMapper.readTree("{\"servings\": 4, \"instructions\": null}"));
+
+        Assertions.assertEquals("soup", recipe.getName());
+        Assertions.assertEquals(4, recipe.getServings());
+        Assertions.assertNull(recipe.getInstructions());
+        Assertions.assertEquals(2, recipe.getIngredients().size());
+    }
+
+    @Test
+    public void test_patch_diffs_ingredients_by_name() throws Exception {
+        List<Ingredient> ingredients = recipe.getIngredients();
+
+        recipeModelMapper.patchedRecipe(
+                recipe, objectMapper.readTree("{\"ingredients\": [{\"ingredientName\": \"salt\"}, \"onion\"]}"));
+
+        Assertions.assertSame(ingredients, recipe.getIngredients());
+        Assertions.assertEquals(2, ingredients.size());
+        Assertions.assertSame(salt, ingredients.get(0));
+        Assertions.assertEquals("onion", ingredients.get(1).getIngredientName());
+        Assertions.assertNull(ingredients.get(1).getId());
+    }
+
+    @Test
+    public void test_patch_rejects_invalid_values() {
+        assertThrows(
+                InvalidRecipeRequestException.class,
+                () -> recipeModelMapper.patchedRecipe(recipe, objectMapper.readTree("{\"servings\": 0}")));
+        assertThrows(
+                InvalidRecipeRequestException.class,
+                () -> recipeModelMapper.patchedRecipe(recipe, objectMapper.readTree("{\"name\": null}")));
+        assertThrows(
+                InvalidRecipeRequestException.class,
+                () -> recipeModelMapper.patchedRecipe(recipe, objectMapper.readTree("{\"colour\": \"red\"}")));
+        assertThrows(
+                InvalidRecipeRequestException.class,
+                () -> recipeModelMapper.patchedRecipe(recipe, objectMapper.readTree("[]")));
+    }
+}
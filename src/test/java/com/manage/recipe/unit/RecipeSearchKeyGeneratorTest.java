@@ -0,0 +1,58 @@
+package com.manage.recipe.unit;
+
+import com.manage.recipe.event.RecipeCatalogVersion;
+import com.manage.recipe.event.RecipeChangeEvent;
+import com.manage.recipe.model.dto.RecipeFilterSearchDTO;
+import com.manage.recipe.util.RecipeSearchKeyGenerator;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+public class RecipeSearchKeyGeneratorTest {
+    private final RecipeCatalogVersion recipeCatalogVersion = new RecipeCatalogVersion();
+    private final RecipeSearchKeyGenerator recipeSearchKeyGenerator =
+            new RecipeSearchKeyGenerator(recipeCatalogVersion);
+    private final Pageable pageable = PageRequest.of(0, 15, Sort.Direction.DESC, "id");
+
+    @Test
+    public void test_equivalent_filters_share_a_key() {
+        RecipeFilterSearchDTO filterDTO = RecipeFilterSearchDTO.builder()
+                .foodCategory("veg")
+                .includedIngredients(List.of("salt", "onion", "salt"))
+                .searchTextInInstructions(" Bake ")
+                .build();
+        RecipeFilterSearchDTO equivalentFilterDTO = RecipeFilterSearchDTO.builder()
+                .foodCategory("VEG")
+                .includedIngredients(List.of("onion", "salt"))
+                .excludedIngredients(List.of())
+                .searchTextInInstructions("bake")
+                .build();
+
+        Assertions.assertEquals(
+                recipeSearchKeyGenerator.generate(null, null, filterDTO, pageable, null),
+                recipeSearchKeyGenerator.generate(null, null, equivalentFilterDTO, pageable, null));
+        Assertions.assertNotEquals(
+                recipeSearchKeyGenerator.generate(null, null, filterDTO, pageable, null),
+                recipeSearchKeyGenerator.generate(null, null, filterDTO, pageable.next(), null));
+        Assertions.assertEquals(
+                recipeSearchKeyGenerator.digest(filterDTO, pageable, null),
+                recipeSearchKeyGenerator.digest(equivalentFilterDTO, pageable, null));
+        Assertions.assertNotEquals(
+                recipeSearchKeyGenerator.digest(filterDTO, pageable, null),
+                recipeSearchKeyGenerator.digest(filterDTO, pageable.next(), null));
+    }
+
+    @Test
+    public void test_recipe_change_moves_the_key() {
+        RecipeFilterSearchDTO filterDTO =
+                RecipeFilterSearchDTO.builder().foodCategory("VEG").build();
+        Object key = recipeSearchKeyGenerator.generate(null, null, filterDTO, pageable, null);
+
+        recipeCatalogVersion.onRecipeChange(new RecipeChangeEvent(1L, RecipeChangeEvent.ChangeType.REMOVED, null));
+
+        Assertions.assertNotEquals(key, recipeSearchKeyGenerator.generate(null, null, filterDTO, pageable, null));
+    }
+}
@@ -4,30 +4,60 @@ import static org.junit.Assert.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
+import com.manage.recipe.configuration.CacheConfig;
 import com.manage.recipe.exception.InvalidRecipeRequestException;
+import com.manage.recipe.exception.RecipeModifiedException;
 import com.manage.recipe.exception.RecipeNotFoundException;
+import com.manage.recipe.index.PantryMatch;
+import com.manage.recipe.index.RecipeFacetIndex;
+import com.manage.recipe.index.RecipeFullTextIndex;
+import com.manage.recipe.index.RecipeIngredientIndex;
+import com.manage.recipe.index.RecipeNameFilter;
+import com.manage.recipe.index.RecipeSuggestionIndex;
+import com.manage.recipe.metrics.RecipeSearchMetrics;
+import com.manage.recipe.metrics.SqlStatementCounter;
 import com.manage.recipe.model.FoodCategory;
 import com.manage.recipe.model.dao.Ingredient;
 import com.manage.recipe.model.dao.Recipe;
+import com.manage.recipe.model.dto.FacetCountDTO;
+import com.manage.recipe.model.dto.PantryMatchRequestDTO;
+import com.manage.recipe.model.dto.PantryMatchResponseDTO;
 import com.manage.recipe.model.dto.RecipeDTO;
+import com.manage.recipe.model.dto.RecipeFacetsDTO;
 import com.manage.recipe.model.dto.RecipeFilterSearchDTO;
+import com.manage.recipe.model.dto.RecipeRemovalResponseDTO;
 import com.manage.recipe.model.dto.RecipeResponseDTO;
+import com.manage.recipe.model.dto.RecipeSuggestionResponseDTO;
+import com.manage.recipe.model.dto.RecipeView;
 import com.manage.recipe.repository.RecipeRepository;
 import com.manage.recipe.service.RecipeService;
+import com.manage.recipe.util.RecipeCursor;
 import com.manage.recipe.util.RecipeModelMapper;
 import com.manage.recipe.util.RecipeSearchSpecifications;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.util.*;
+import java.util.function.Consumer;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.PageImpl;
+import org.roaringbitmap.longlong.Roaring64NavigableMap;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
 
 @ExtendWith(MockitoExtension.class)
 public class RecipeServiceTest {
@@ -46,6 +76,32 @@ public class RecipeServiceTest {
     @Mock
     private RecipeSearchSpecifications recipeSearchSpecifications;
 
+    @Mock
+    private RecipeIngredientIndex recipeIngredientIndex;
+
+    @Mock
+    private RecipeFullTextIndex recipeFullTextIndex;
+
+    @Mock
+    private RecipeNameFilter recipeNameFilter;
+
+    @Mock
+    private RecipeFacetIndex recipeFacetIndex;
+
+    @Mock
+    private RecipeSuggestionIndex recipeSuggestionIndex;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Spy
+    private CacheManager cacheManager = new ConcurrentMapCacheManager(CacheConfig.RECIPES_BY_ID);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private RecipeSearchMetrics recipeSearchMetrics = new RecipeSearchMetrics(meterRegistry, new SqlStatementCounter());
+
     @BeforeEach
     public void setUp() {
         recipeDTO = RecipeDTO.builder()
@@ -71,11 +127,12 @@ public class RecipeServiceTest {
 
         when(recipeModelMapper.mapToRecipe(any(RecipeDTO.class))).thenReturn(recipe);
         when(recipeModelMapper.mapToRecipeDTO(any(Recipe.class))).thenReturn(recipeDTO);
-        when(recipeRepository.save(any(Recipe.class))).thenReturn(recipe);
+        when(recipeRepository.saveAndFlush(any(Recipe.class))).thenReturn(recipe);
         RecipeDTO savedRecipeDTO = recipeService.addNewRecipe(recipeDTO);
         Assertions.assertNotNull(savedRecipeDTO);
         Assertions.assertEquals(recipeDTO.getName(), savedRecipeDTO.getName());
-        verify(recipeRepository, times(1)).save(any());
+        verify(recipeRepository, times(1)).saveAndFlush(any());
+        verify(recipeRepository, never()).findIdByName(anyString());
     }
 
     @Test
@@ -88,8 +145,19 @@ public class RecipeServiceTest {
 
     @Test
     public void test_add_already_existing_recipe() {
-        when(recipeRepository.findByName(anyString()))
-                .thenReturn(Optional.of(Recipe.builder().build()));
+        when(recipeNameFilter.mightContain(anyString())).thenReturn(true);
+        when(recipeRepository.findIdByName(anyString())).thenReturn(Optional.of(1L));
+        Exception exception =
+                assertThrows(InvalidRecipeRequestException.class, () -> recipeService.addNewRecipe(recipeDTO));
+        Assertions.assertTrue(exception.getMessage().contains("Recipe name already exists"));
+    }
+
+    @Test
+    public void test_add_concurrently_created_recipe() {
+        when(recipeModelMapper.mapToRecipe(any(RecipeDTO.class))).thenReturn(recipe);
+        when(recipeRepository.saveAndFlush(any(Recipe.class)))
+                .thenThrow(new DataIntegrityViolationException(
+                        "duplicate", new RuntimeException("Unique index violation: PUBLIC.UK_RECIPES_RECIPE_NAME")));
         Exception exception =
                 assertThrows(InvalidRecipeRequestException.class, () -> recipeService.addNewRecipe(recipeDTO));
         Assertions.assertTrue(exception.getMessage().contains("Recipe name already exists"));
@@ -99,38 +167,80 @@ public class RecipeServiceTest {
     public void test_fetch_all_recipies_success() {
         List<RecipeDTO> recipeDTOList = new ArrayList<>();
         recipeDTOList.add(recipeDTO);
-        List<Recipe> recipeList = new ArrayList<>();
-        recipeList.add(Recipe.builder().build());
-        when(recipeModelMapper.mapToRecipeDTOlist(anyList()))
+        List<RecipeView> recipeViews = List.of(recipeView(1L));
+        when(recipeModelMapper.mapViewsToRecipeDTOlist(recipeViews))
                 .thenReturn(
                         RecipeResponseDTO.builder().recipeDTOList(recipeDTOList).build());
-        when(recipeRepository.findAll()).thenReturn(recipeList);
+        when(recipeRepository.findAllViews()).thenReturn(recipeViews);
         RecipeResponseDTO recipeDTOListResponse = recipeService.fetchAllRecipes();
         Assertions.assertNotNull(recipeDTOListResponse);
         Assertions.assertEquals(
-                recipeList.size(), recipeDTOListResponse.getRecipeDTOList().size());
-        verify(recipeRepository, times(1)).findAll();
+                recipeViews.size(), recipeDTOListResponse.getRecipeDTOList().size());
+        verify(recipeRepository, times(1)).findAllViews();
+        verify(recipeRepository, never()).findAll();
+    }
+
+    @Test
+    public void test_stream_all_recipes() {
+        Recipe firstRecipe = Recipe.builder().id(1L).build();
+        Recipe secondRecipe = Recipe.builder().id(2L).build();
+        doAnswer(invocation -> {
+                    Consumer<Recipe> recipeConsumer = invocation.getArgument(1);
+                    recipeConsumer.accept(firstRecipe);
+                    recipeConsumer.accept(secondRecipe);
+                    return null;
+                })
+                .when(recipeRepository)
+                .scrollAll(anyInt(), any());
+        when(recipeModelMapper.mapToRecipeDTO(any(Recipe.class))).thenReturn(recipeDTO);
+
+        List<RecipeDTO> streamedRecipes = new ArrayList<>();
+        recipeService.streamAllRecipes(streamedRecipes::add);
+
+        Assertions.assertEquals(2, streamedRecipes.size());
+        verify(recipeRepository, never()).findAll();
     }
 
     @Test
     public void test_fetch_recipe_by_id() {
 
         Long recipeId = 1L;
-        Recipe mockedRecipe = Recipe.builder().id(recipeId).name("Test Recipe").build();
+        RecipeView mockedRecipeView = recipeView(recipeId);
         RecipeDTO mockedRecipeDTO =
                 RecipeDTO.builder().recipeId(1L).name("Test Recipe").build();
-        when(recipeRepository.findById(recipeId)).thenReturn(Optional.of(mockedRecipe));
-        when(recipeModelMapper.mapToRecipeDTO(any())).thenReturn(mockedRecipeDTO);
+        when(recipeRepository.findViews(List.of(recipeId))).thenReturn(List.of(mockedRecipeView));
+        when(recipeModelMapper.mapToRecipeDTO(mockedRecipeView)).thenReturn(mockedRecipeDTO);
+        when(recipeRepository.findVersionById(recipeId)).thenReturn(Optional.of(0L));
         RecipeDTO result = recipeService.fetchRecipeById(recipeId);
         Assertions.assertEquals(recipeId, result.getRecipeId());
         Assertions.assertEquals("Test Recipe", result.getName());
+        Assertions.assertSame(result, recipeService.fetchRecipeById(recipeId));
+        verify(recipeRepository, never()).findById(recipeId);
+        verify(recipeRepository, times(1)).findViews(List.of(recipeId));
+    }
+
+    @Test
+    public void test_fetch_recipe_by_id_evicts_recipe_changed_while_cached() {
+
+        Long recipeId = 1L;
+        RecipeView mockedRecipeView = recipeView(recipeId);
+        RecipeDTO mockedRecipeDTO =
+                RecipeDTO.builder().recipeId(1L).name("Test Recipe").build();
+        when(recipeRepository.findViews(List.of(recipeId))).thenReturn(List.of(mockedRecipeView));
+        when(recipeModelMapper.mapToRecipeDTO(mockedRecipeView)).thenReturn(mockedRecipeDTO);
+        when(recipeRepository.findVersionById(recipeId)).thenReturn(Optional.of(1L));
+
+        RecipeDTO result = recipeService.fetchRecipeById(recipeId);
+
+        Assertions.assertEquals("Test Recipe", result.getName());
+        Assertions.assertNull(cacheManager.getCache(CacheConfig.RECIPES_BY_ID).get(recipeId));
     }
 
     @Test
     public void test_fetch_recipe_by_invalid_id() {
 
         Long recipeId = UUID.randomUUID().getMostSignificantBits();
-        when(recipeRepository.findById(recipeId)).thenReturn(Optional.empty());
+        when(recipeRepository.findViews(List.of(recipeId))).thenReturn(List.of());
         assertThrows(RecipeNotFoundException.class, () -> recipeService.fetchRecipeById(recipeId));
     }
 
@@ -147,7 +257,7 @@ public class RecipeServiceTest {
         when(recipeRepository.findById(recipeId)).thenReturn(Optional.of(existingRecipe));
         when(recipeModelMapper.updatedRecipe(any(Recipe.class), any(RecipeDTO.class)))
                 .thenReturn(updatedRecipe);
-        when(recipeRepository.save(any())).thenReturn(updatedRecipe);
+        when(recipeRepository.saveAndFlush(any())).thenReturn(updatedRecipe);
         when(recipeModelMapper.mapToRecipeDTO(any(Recipe.class))).thenReturn(recipeDTO);
 
         RecipeDTO result = recipeService.updateRecipe(recipeId, recipeDTO);
@@ -155,6 +265,16 @@ public class RecipeServiceTest {
         Assertions.assertEquals(recipeDTO.getName(), result.getName());
     }
 
+    @Test
+    public void test_patch_recipe_modified_since_expected_version() {
+        Recipe existingRecipe =
+                Recipe.builder().id(1L).name("Original Recipe").version(3).build();
+        when(recipeRepository.findById(1L)).thenReturn(Optional.of(existingRecipe));
+
+        assertThrows(RecipeModifiedException.class, () -> recipeService.patchRecipe(1L, null, 2L));
+        verify(recipeRepository, never()).saveAndFlush(any());
+    }
+
     @Test
     public void test_update_recipe_by_invalid_id() {
 
@@ -168,26 +288,159 @@ public class RecipeServiceTest {
     public void test_remove_recipe_by_id() {
 
         Long recipeId = 1L;
-        Recipe existingRecipe =
-                Recipe.builder().id(recipeId).name("Test Recipe").build();
-
-        when(recipeRepository.findById(recipeId)).thenReturn(Optional.of(existingRecipe));
+        when(recipeRepository.deleteAllByIds(List.of(recipeId))).thenReturn(List.of(recipeId));
 
         recipeService.removeRecipe(recipeId);
 
-        verify(recipeRepository).findById(recipeId);
-
-        verify(recipeRepository).delete(existingRecipe);
+        verify(recipeRepository).deleteAllByIds(List.of(recipeId));
+        verify(recipeRepository, never()).findById(recipeId);
     }
 
     @Test
     public void test_remove_recipe_by_invalid_id() {
 
         Long recipeId = UUID.randomUUID().getMostSignificantBits();
-        when(recipeRepository.findById(recipeId)).thenReturn(Optional.empty());
+        when(recipeRepository.deleteAllByIds(List.of(recipeId))).thenReturn(List.of());
         assertThrows(RecipeNotFoundException.class, () -> recipeService.removeRecipe(recipeId));
     }
 
+    @Test
+    public void test_remove_recipes_reports_missing_ids() {
+
+        ReflectionTestUtils.setField(recipeService, "deleteMaxIds", 10);
+        when(recipeRepository.deleteAllByIds(any())).thenReturn(List.of(1L));
+
+        RecipeRemovalResponseDTO response = recipeService.removeRecipes(List.of(1L, 2L, 1L));
+
+        assertEquals(1, response.getRemoved());
+        assertEquals(1, response.getNotFound());
+        assertEquals(2, response.getResults().size());
+        assertEquals(204, response.getResults().get(0).getStatus());
+        assertEquals(404, response.getResults().get(1).getStatus());
+        verify(recipeRepository, never()).findById(any());
+    }
+
+    @Test
+    public void test_remove_recipes_rejects_too_many_ids() {
+
+        ReflectionTestUtils.setField(recipeService, "deleteMaxIds", 1);
+        assertThrows(InvalidRecipeRequestException.class, () -> recipeService.removeRecipes(List.of(1L, 2L)));
+        assertThrows(InvalidRecipeRequestException.class, () -> recipeService.removeRecipes(List.of()));
+    }
+
+    @Test
+    public void test_search_facets_from_indexes() {
+
+        ReflectionTestUtils.setField(recipeService, "facetTopIngredients", 5);
+        RecipeFilterSearchDTO filterDTO = RecipeFilterSearchDTO.builder()
+                .name("Test Recipe")
+                .foodCategory("VEG")
+                .includedIngredients(List.of("salt"))
+                .build();
+        when(recipeIngredientIndex.isReady()).thenReturn(true);
+        when(recipeFacetIndex.isReady()).thenReturn(true);
+        when(recipeIngredientIndex.match(List.of("salt"), null)).thenReturn(Roaring64NavigableMap.bitmapOf(1L, 2L));
+        when(recipeRepository.findIdByName("Test Recipe")).thenReturn(Optional.of(2L));
+        List<FacetCountDTO> ingredientCounts = List.of(new FacetCountDTO("salt", 1));
+        when(recipeIngredientIndex.countIngredients(Roaring64NavigableMap.bitmapOf(2L), 5))
+                .thenReturn(ingredientCounts);
+
+        RecipeFacetsDTO facets = recipeService.searchFacets(filterDTO);
+
+        assertEquals(1, facets.getTotal());
+        assertEquals(ingredientCounts, facets.getIngredients());
+        verify(recipeFacetIndex).retain(any(), eq(FoodCategory.VEG), isNull());
+        verify(recipeFullTextIndex, never()).match(any(), any());
+    }
+
+    @Test
+    public void test_search_facets_unavailable_until_indexes_ready() {
+
+        when(recipeIngredientIndex.isReady()).thenReturn(false);
+        assertNull(recipeService.searchFacets(RecipeFilterSearchDTO.builder().build()));
+    }
+
+    @Test
+    public void test_suggest_names_capped_by_max_results() {
+
+        when(recipeSuggestionIndex.maxResults()).thenReturn(5);
+        when(recipeSuggestionIndex.isReady()).thenReturn(true);
+        when(recipeSuggestionIndex.suggestRecipeNames("pa", 5)).thenReturn(List.of("Paella"));
+        when(recipeSuggestionIndex.suggestIngredientNames("pa", 5)).thenReturn(List.of("paprika"));
+
+        RecipeSuggestionResponseDTO response = recipeService.suggestNames("pa", 50);
+
+        assertEquals(List.of("Paella"), response.getRecipes());
+        assertEquals(List.of("paprika"), response.getIngredients());
+        verify(recipeRepository, never()).findAllNames();
+    }
+
+    @Test
+    public void test_suggest_names_rejects_blank_prefix() {
+
+        assertThrows(InvalidRecipeRequestException.class, () -> recipeService.suggestNames(" ", null));
+        assertThrows(InvalidRecipeRequestException.class, () -> recipeService.suggestNames("pa", 0));
+    }
+
+    @Test
+    public void test_match_pantry_with_ingredient_index() {
+
+        ReflectionTestUtils.setField(recipeService, "pantryMaxLimit", 10);
+        when(recipeIngredientIndex.isReady()).thenReturn(true);
+        when(recipeIngredientIndex.matchPantry(Set.of("salt"), 5, Integer.MAX_VALUE))
+                .thenReturn(List.of(new PantryMatch(2L, 1, 1), new PantryMatch(1L, 1, 2)));
+        when(recipeRepository.findViews(List.of(2L, 1L)))
+                .thenReturn(List.of(
+                        recipeView(2L),
+                        new RecipeView(1L, "Other", FoodCategory.VEG, 1, "instruction", 0, List.of("salt", "sugar"))));
+        when(recipeModelMapper.mapToRecipeDTO(any(RecipeView.class))).thenReturn(recipeDTO);
+
+        PantryMatchResponseDTO response = recipeService.matchPantry(PantryMatchRequestDTO.builder()
+                .ingredients(List.of("salt", " "))
+                .limit(5)
+                .build());
+
+        assertEquals(2, response.getMatches().size());
+        assertEquals(1.0, response.getMatches().get(0).getCoverage(), 0);
+        assertEquals(List.of(), response.getMatches().get(0).getMissingIngredientNames());
+        assertEquals(List.of("sugar"), response.getMatches().get(1).getMissingIngredientNames());
+        verify(recipeRepository, never()).findPantryCoverage(any());
+    }
+
+    @Test
+    public void test_match_pantry_in_database_until_index_ready() {
+
+        ReflectionTestUtils.setField(recipeService, "pantryDefaultLimit", 1);
+        ReflectionTestUtils.setField(recipeService, "pantryMaxLimit", 10);
+        when(recipeIngredientIndex.isReady()).thenReturn(false);
+        when(recipeRepository.findPantryCoverage(Set.of("salt")))
+                .thenReturn(List.of(new Object[] {1L, 2L, 1L}, new Object[] {2L, 1L, 1L}));
+        when(recipeRepository.findViews(List.of(2L))).thenReturn(List.of(recipeView(2L)));
+
+        PantryMatchResponseDTO response = recipeService.matchPantry(
+                PantryMatchRequestDTO.builder().ingredients(List.of("salt")).build());
+
+        assertEquals(1, response.getMatches().size());
+        assertEquals(0, response.getMatches().get(0).getMissingIngredients());
+    }
+
+    @Test
+    public void test_match_pantry_rejects_invalid_request() {
+
+        ReflectionTestUtils.setField(recipeService, "pantryMaxLimit", 10);
+        assertThrows(
+                InvalidRecipeRequestException.class,
+                () -> recipeService.matchPantry(PantryMatchRequestDTO.builder()
+                        .ingredients(List.of(" "))
+                        .build()));
+        assertThrows(
+                InvalidRecipeRequestException.class,
+                () -> recipeService.matchPantry(PantryMatchRequestDTO.builder()
+                        .ingredients(List.of("salt"))
+                        .limit(11)
+                        .build()));
+    }
+
     @Test
     public void test_search_recipes() {
 
@@ -202,19 +455,8 @@ public class RecipeServiceTest {
 
         Pageable pageable = Pageable.unpaged();
 
-        List<Recipe> recipeList = new ArrayList<>();
-        Recipe recipe = Recipe.builder()
-                .id(1L)
-                .name("Test Recipe")
-                .ingredients(Arrays.asList(
-                        Ingredient.builder().ingredientName("salt").build(),
-                        Ingredient.builder().ingredientName("pepper").build()))
-                .instructions("instruction")
-                .foodCategory(FoodCategory.VEG)
-                .servings(1)
-                .build();
-
-        recipeList.add(recipe);
+        List<RecipeView> recipeViews = List.of(
+                new RecipeView(1L, "Test Recipe", FoodCategory.VEG, 1, "instruction", 0, List.of("salt", "pepper")));
         List<RecipeDTO> recipeDTOList = new ArrayList<>();
         RecipeDTO recipeDTO = RecipeDTO.builder()
                 .recipeId(1L)
@@ -232,15 +474,20 @@ public class RecipeServiceTest {
 
         when(recipeSearchSpecifications.getRecipeSearchSpecification(any(RecipeFilterSearchDTO.class)))
                 .thenReturn(Specification.where(null));
-        when(recipeRepository.findAll(any(Specification.class), eq(pageable))).thenReturn(new PageImpl<>(recipeList));
+        when(recipeRepository.findSlicePositions(ArgumentMatchers.<Specification<Recipe>>any(), eq(pageable), isNull()))
+                .thenReturn(new SliceImpl<>(List.of(new RecipeCursor(1L, "1"))));
+        when(recipeRepository.findViews(List.of(1L))).thenReturn(recipeViews);
 
-        when(recipeModelMapper.mapToRecipeDTOlist(recipeList)).thenReturn(recipeResponseDTO);
+        when(recipeModelMapper.mapViewsToRecipeDTOlist(recipeViews)).thenReturn(recipeResponseDTO);
 
         RecipeResponseDTO result = recipeService.searchRecipes(filterDTO, pageable);
 
         verify(recipeSearchSpecifications).getRecipeSearchSpecification(filterDTO);
-        verify(recipeRepository).findAll(any(Specification.class), eq(pageable));
-        verify(recipeModelMapper).mapToRecipeDTOlist(recipeList);
+        verify(recipeRepository)
+                .findSlicePositions(ArgumentMatchers.<Specification<Recipe>>any(), eq(pageable), isNull());
+        verify(recipeRepository, never()).count(ArgumentMatchers.<Specification<Recipe>>any());
+        verify(recipeRepository, never()).findSlice(any(), any(), any());
+        verify(recipeModelMapper).mapViewsToRecipeDTOlist(recipeViews);
 
         Assertions.assertNotNull(result);
         Assertions.assertTrue(result.getRecipeDTOList().stream()
@@ -248,4 +495,191 @@ public class RecipeServiceTest {
                         && recipeDto.getServings() == 1
                         && recipeDto.getInstructions().equalsIgnoreCase("test instruction")));
     }
+
+    @Test
+    public void test_search_recipes_pages_ingredient_index() {
+
+        RecipeFilterSearchDTO filterDTO = RecipeFilterSearchDTO.builder()
+                .includedIngredients(List.of("salt"))
+                .excludedIngredients(List.of("coriander"))
+                .build();
+        Pageable pageable = PageRequest.of(0, 2, Sort.Direction.DESC, "id");
+        Roaring64NavigableMap candidateIds = Roaring64NavigableMap.bitmapOf(1L, 2L, 3L);
+        List<RecipeView> recipeViews = List.of(recipeView(3L), recipeView(2L));
+        RecipeResponseDTO recipeResponseDTO = RecipeResponseDTO.builder().build();
+
+        when(recipeIngredientIndex.isReady()).thenReturn(true);
+        when(recipeIngredientIndex.match(List.of("salt"), List.of("coriander"))).thenReturn(candidateIds);
+        when(recipeRepository.findViews(List.of(3L, 2L))).thenReturn(recipeViews);
+        when(recipeModelMapper.mapViewsToRecipeDTOlist(recipeViews)).thenReturn(recipeResponseDTO);
+
+        RecipeResponseDTO result = recipeService.searchRecipes(filterDTO, pageable);
+
+        Assertions.assertSame(recipeResponseDTO, result);
+        verify(recipeRepository, never()).findSlicePositions(any(), any(), any());
+        Assertions.assertNotNull(result.getNextCursor());
+    }
+
+    @Test
+    public void test_search_recipes_narrows_ingredient_index_with_facets() {
+
+        RecipeFilterSearchDTO filterDTO = RecipeFilterSearchDTO.builder()
+                .foodCategory("VEG")
+                .includedIngredients(List.of("salt"))
+                .build();
+        Pageable pageable = PageRequest.of(0, 2, Sort.Direction.DESC, "id");
+        List<RecipeView> recipeViews = List.of(recipeView(3L));
+        RecipeResponseDTO recipeResponseDTO = RecipeResponseDTO.builder().build();
+
+        when(recipeIngredientIndex.isReady()).thenReturn(true);
+        when(recipeFacetIndex.isReady()).thenReturn(true);
+        when(recipeIngredientIndex.match(List.of("salt"), null)).thenReturn(Roaring64NavigableMap.bitmapOf(1L, 3L));
+        doAnswer(invocation -> {
+                    invocation.getArgument(0, Roaring64NavigableMap.class).removeLong(1L);
+                    return null;
+                })
+                .when(recipeFacetIndex)
+                .retain(any(), eq(FoodCategory.VEG), isNull());
+        when(recipeRepository.findViews(List.of(3L))).thenReturn(recipeViews);
+        when(recipeModelMapper.mapViewsToRecipeDTOlist(recipeViews)).thenReturn(recipeResponseDTO);
+
+        RecipeResponseDTO result = recipeService.searchRecipes(filterDTO, pageable);
+
+        Assertions.assertSame(recipeResponseDTO, result);
+        verify(recipeRepository, never()).findSlicePositions(any(), any(), any());
+        Assertions.assertNull(result.getNextCursor());
+    }
+
+    @Test
+    public void test_search_recipes_without_ingredient_match() {
+
+        RecipeFilterSearchDTO filterDTO = RecipeFilterSearchDTO.builder()
+                .includedIngredients(List.of("saffron"))
+                .build();
+
+        when(recipeIngredientIndex.isReady()).thenReturn(true);
+        when(recipeIngredientIndex.match(List.of("saffron"), null)).thenReturn(new Roaring64NavigableMap());
+        when(recipeModelMapper.mapViewsToRecipeDTOlist(List.of()))
+                .thenReturn(RecipeResponseDTO.builder().recipeDTOList(List.of()).build());
+
+        RecipeResponseDTO result = recipeService.searchRecipes(filterDTO, Pageable.unpaged());
+
+        Assertions.assertTrue(result.getRecipeDTOList().isEmpty());
+        verifyNoMoreInteractions(recipeRepository);
+    }
+
+    @Test
+    public void test_search_recipes_ranks_full_text_matches() {
+
+        RecipeFilterSearchDTO filterDTO = RecipeFilterSearchDTO.builder()
+                .foodCategory("VEG")
+                .searchTextInInstructions("\"bake in oven\"")
+                .build();
+        Pageable pageable = PageRequest.of(1, 2, Sort.Direction.DESC, "id");
+        List<RecipeView> recipeViews = List.of(recipeView(4L), recipeView(9L));
+        RecipeResponseDTO recipeResponseDTO = RecipeResponseDTO.builder().build();
+
+        when(recipeFullTextIndex.isReady()).thenReturn(true);
+        when(recipeFullTextIndex.search(filterDTO, null, 2, 2)).thenReturn(List.of(4L, 9L));
+        when(recipeRepository.findViews(List.of(4L, 9L))).thenReturn(recipeViews);
+        when(recipeModelMapper.mapViewsToRecipeDTOlist(recipeViews)).thenReturn(recipeResponseDTO);
+
+        RecipeResponseDTO result = recipeService.searchRecipes(filterDTO, pageable);
+
+        Assertions.assertSame(recipeResponseDTO, result);
+        verify(recipeSearchSpecifications, never()).getRecipeSearchSpecification(any());
+    }
+
+    @Test
+    public void test_search_recipes_after_cursor() {
+
+        RecipeFilterSearchDTO filterDTO = RecipeFilterSearchDTO.builder()
+                .excludedIngredients(List.of("coriander"))
+                .build();
+        Pageable pageable = PageRequest.of(0, 2, Sort.Direction.DESC, "id");
+        List<RecipeView> recipeViews = List.of(recipeView(1L));
+
+        when(recipeIngredientIndex.isReady()).thenReturn(true);
+        when(recipeIngredientIndex.match(null, List.of("coriander")))
+                .thenReturn(Roaring64NavigableMap.bitmapOf(1L, 2L, 3L));
+        when(recipeRepository.findViews(List.of(1L))).thenReturn(recipeViews);
+        when(recipeModelMapper.mapViewsToRecipeDTOlist(recipeViews))
+                .thenReturn(RecipeResponseDTO.builder().build());
+
+        RecipeResponseDTO result = recipeService.searchRecipes(filterDTO, pageable, new RecipeCursor(2L, "2").encode());
+
+        Assertions.assertNull(result.getNextCursor());
+    }
+
+    @Test
+    public void test_search_recipes_with_invalid_cursor() {
+
+        RecipeFilterSearchDTO filterDTO = RecipeFilterSearchDTO.builder().build();
+        Exception exception = assertThrows(
+                InvalidRecipeRequestException.class,
+                () -> recipeService.searchRecipes(filterDTO, Pageable.unpaged(), "not-a-cursor"));
+        Assertions.assertTrue(exception.getMessage().contains("Invalid search cursor"));
+    }
+
+    @Test
+    public void test_search_recipes_records_metrics_per_filter_shape() {
+
+        RecipeFilterSearchDTO filterDTO = RecipeFilterSearchDTO.builder()
+                .includedIngredients(List.of("salt"))
+                .build();
+        List<RecipeView> recipeViews = List.of(recipeView(1L));
+
+        when(recipeIngredientIndex.isReady()).thenReturn(true);
+        when(recipeIngredientIndex.match(List.of("salt"), null)).thenReturn(Roaring64NavigableMap.bitmapOf(1L, 2L));
+        when(recipeRepository.findViews(List.of(1L))).thenReturn(recipeViews);
+        when(recipeModelMapper.mapViewsToRecipeDTOlist(recipeViews))
+                .thenReturn(RecipeResponseDTO.builder()
+                        .recipeDTOList(List.of(RecipeDTO.builder().recipeId(1L).build()))
+                        .build());
+
+        recipeSearchMetrics.record(
+                filterDTO,
+                () -> recipeService.searchRecipes(filterDTO, PageRequest.of(0, 1, Sort.Direction.ASC, "id")));
+
+        Assertions.assertEquals(
+                1,
+                meterRegistry
+                        .get("recipe.search")
+                        .tag("filters", "include")
+                        .tag("path", RecipeSearchMetrics.PATH_INGREDIENT_INDEX)
+                        .timer()
+                        .count());
+        Assertions.assertEquals(
+                2, meterRegistry.get("recipe.search.index.candidates").counter().count());
+        Assertions.assertEquals(
+                1, meterRegistry.get("recipe.search.rows.returned").counter().count());
+    }
+
+    @Test
+    public void test_search_recipes_answered_by_cache_records_cache_path() {
+
+        RecipeFilterSearchDTO filterDTO =
+                RecipeFilterSearchDTO.builder().name("soup").build();
+        RecipeResponseDTO cachedResponse = RecipeResponseDTO.builder()
+                .recipeDTOList(List.of(RecipeDTO.builder().recipeId(1L).build()))
+                .build();
+
+        recipeSearchMetrics.record(filterDTO, () -> cachedResponse);
+
+        Assertions.assertEquals(
+                1,
+                meterRegistry
+                        .get("recipe.search")
+                        .tag("filters", "name")
+                        .tag("path", RecipeSearchMetrics.PATH_CACHE)
+                        .timer()
+                        .count());
+        Assertions.assertEquals(
+                1, meterRegistry.get("recipe.search.rows.returned").counter().count());
+        Assertions.assertNull(RecipeSearchMetrics.currentSearch());
+    }
+
+    private static RecipeView recipeView(Long recipeId) {
+        return new RecipeView(recipeId, "Test Recipe", FoodCategory.VEG, 1, "instruction", 0, List.of("salt"));
+    }
 }
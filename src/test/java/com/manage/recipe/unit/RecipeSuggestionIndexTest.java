@@ -0,0 +1,100 @@
+package com.manage.recipe.unit;
+
+import static org.mockito.Mockito.*;
+
+import com.manage.recipe.event.RecipeChangeEvent;
+import com.manage.recipe.index.RecipeSuggestionIndex;
+import com.manage.recipe.model.dao.Ingredient;
+import com.manage.recipe.model.dao.Recipe;
+import com.manage.recipe.repository.RecipeRepository;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class RecipeSuggestionIndexTest {
+    private RecipeSuggestionIndex recipeSuggestionIndex;
+
+    @Mock
+    private RecipeRepository recipeRepository;
+
+    @BeforeEach
+    public void setUp() {
+        recipeSuggestionIndex = new RecipeSuggestionIndex(recipeRepository, 3);
+        when(recipeRepository.findAllRecipeIngredientNames())
+                .thenReturn(List.of(
+                        new Object[] {1L, "Sugar"},
+                        new Object[] {1L, "salt"},
+                        new Object[] {2L, "salt"},
+                        new Object[] {2L, "saffron"},
+                        new Object[] {3L, null}));
+        when(recipeRepository.findAllIdsAndNames())
+                .thenReturn(List.of(
+                        new Object[] {1L, "Pancakes"}, new Object[] {2L, "Paella"}, new Object[] {3L, "Pasta bake"}));
+        recipeSuggestionIndex.rebuild();
+    }
+
+    @Test
+    public void test_suggest_names_by_prefix_ignoring_case() {
+        Assertions.assertTrue(recipeSuggestionIndex.isReady());
+        Assertions.assertEquals(
+                List.of("Paella", "Pancakes", "Pasta bake"), recipeSuggestionIndex.suggestRecipeNames("pa", 10));
+        Assertions.assertEquals(List.of("Pasta bake"), recipeSuggestionIndex.suggestRecipeNames(" PAS", 10));
+        Assertions.assertEquals(List.of("Paella"), recipeSuggestionIndex.suggestRecipeNames("pa", 1));
+        Assertions.assertTrue(
+                recipeSuggestionIndex.suggestRecipeNames("pie", 10).isEmpty());
+    }
+
+    @Test
+    public void test_suggest_ingredients_by_popularity() {
+        Assertions.assertEquals(
+                List.of("salt", "Sugar", "saffron"), recipeSuggestionIndex.suggestIngredientNames("s", 10));
+        Assertions.assertEquals(List.of("salt", "saffron"), recipeSuggestionIndex.suggestIngredientNames("sa", 10));
+    }
+
+    @Test
+    public void test_recipe_change_events_update_suggestions() {
+        Assertions.assertEquals(
+                List.of("salt", "Sugar", "saffron"), recipeSuggestionIndex.suggestIngredientNames("s", 10));
+
+        Recipe updatedRecipe = Recipe.builder()
+                .id(1L)
+                .name("Crepes")
+                .ingredients(List.of(
+                        Ingredient.builder().ingredientName("saffron").build(),
+                        Ingredient.builder().ingredientName("Saffron").build()))
+                .build();
+        recipeSuggestionIndex.onRecipeChange(
+                new RecipeChangeEvent(1L, RecipeChangeEvent.ChangeType.SAVED, updatedRecipe));
+        recipeSuggestionIndex.onRecipeChange(new RecipeChangeEvent(3L, RecipeChangeEvent.ChangeType.REMOVED, null));
+
+        Assertions.assertEquals(List.of("Paella"), recipeSuggestionIndex.suggestRecipeNames("pa", 10));
+        Assertions.assertEquals(List.of("Crepes"), recipeSuggestionIndex.suggestRecipeNames("c", 10));
+        Assertions.assertEquals(List.of("saffron", "salt"), recipeSuggestionIndex.suggestIngredientNames("s", 10));
+    }
+
+    @Test
+    public void test_best_terms_are_refilled_after_removal() {
+        Recipe recipe = Recipe.builder()
+                .id(4L)
+                .name("Soup")
+                .ingredients(List.of(
+                        Ingredient.builder().ingredientName("sage").build(),
+                        Ingredient.builder().ingredientName("sesame").build()))
+                .build();
+        recipeSuggestionIndex.onRecipeChange(new RecipeChangeEvent(4L, RecipeChangeEvent.ChangeType.SAVED, recipe));
+        Assertions.assertEquals(
+                List.of("salt", "sage", "Sugar"), recipeSuggestionIndex.suggestIngredientNames("s", 10));
+
+        recipeSuggestionIndex.onRecipeChange(new RecipeChangeEvent(1L, RecipeChangeEvent.ChangeType.REMOVED, null));
+
+        Assertions.assertEquals(
+                List.of("sage", "salt", "sesame"), recipeSuggestionIndex.suggestIngredientNames("s", 10));
+        Assertions.assertTrue(
+                recipeSuggestionIndex.suggestIngredientNames("su", 10).isEmpty());
+    }
+}
@@ -0,0 +1,94 @@
+package com.manage.recipe.unit;
+
+import com.manage.recipe.metrics.SlowQueryListener;
+import com.manage.recipe.metrics.SlowQueryLog;
+import com.manage.recipe.model.dto.SlowQueryDTO;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import javax.sql.DataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.ObjectProvider;
+
+public class SlowQueryListenerTest {
+    private final SlowQueryLog slowQueryLog = new SlowQueryLog(10);
+    private SlowQueryListener slowQueryListener;
+
+    @AfterEach
+    public void tearDown() {
+        slowQueryListener.close();
+    }
+
+    @Test
+    public void test_query_is_explained_in_the_background_without_bind_values() throws Exception {
+        DataSource dataSource = dataSource("slowQueryPlan", false);
+
+        query(dataSource);
+
+        SlowQueryDTO slowQuery = awaitSelect();
+        Assertions.assertNotNull(slowQuery.getPlan());
+        Assertions.assertNull(slowQuery.getBindValues());
+        Assertions.assertTrue(slowQueryLog.recent().stream()
+                .noneMatch(recorded -> recorded.getSql().startsWith("EXPLAIN")));
+    }
+
+    @Test
+    public void test_bind_values_are_recorded_when_enabled() throws Exception {
+        DataSource dataSource = dataSource("slowQueryBindValues", true);
+
+        query(dataSource);
+
+        Assertions.assertEquals(List.of(List.of("soup")), awaitSelect().getBindValues());
+    }
+
+    private DataSource dataSource(String name, boolean bindValues) {
+        JdbcDataSource h2DataSource = new JdbcDataSource();
+        h2DataSource.setURL("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+        @SuppressWarnings("unchecked")
+        ObjectProvider<DataSource> dataSourceProvider = Mockito.mock(ObjectProvider.class);
+        slowQueryListener = new SlowQueryListener(slowQueryLog, dataSourceProvider, Duration.ZERO, bindValues, 16);
+        DataSource dataSource = ProxyDataSourceBuilder.create(h2DataSource)
+                .listener(slowQueryListener)
+                .build();
+        Mockito.when(dataSourceProvider.getObject()).thenReturn(dataSource);
+        return dataSource;
+    }
+
+    private static void query(DataSource dataSource) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("create table recipes (recipe_name varchar(100))");
+            }
+            try (PreparedStatement statement =
+                    connection.prepareStatement("select * from recipes where recipe_name = ?")) {
+                statement.setString(1, "soup");
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    Assertions.assertFalse(resultSet.next());
+                }
+            }
+        }
+    }
+
+    private SlowQueryDTO awaitSelect() throws InterruptedException {
+        for (int attempt = 0; attempt < 100; attempt++) {
+            Optional<SlowQueryDTO> slowQuery = slowQueryLog.recent().stream()
+                    .filter(recorded -> recorded.getSql().startsWith("select"))
+                    .findFirst();
+            if (slowQuery.isPresent()) {
+                return slowQuery.get();
+            }
+            Thread.sleep(50);
+        }
+        return Assertions.fail("The slow query was never recorded");
+    }
+}
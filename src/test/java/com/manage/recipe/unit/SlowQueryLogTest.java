@@ -0,0 +1,34 @@
+package com.manage.recipe.unit;
+
+import com.manage.recipe.metrics.SlowQueryLog;
+import com.manage.recipe.model.dto.SlowQueryDTO;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class SlowQueryLogTest {
+
+    @Test
+    public void test_recent_keeps_latest_entries_first() {
+        SlowQueryLog slowQueryLog = new SlowQueryLog(2);
+
+        slowQueryLog.record(SlowQueryDTO.builder().sql("first").build());
+        slowQueryLog.record(SlowQueryDTO.builder().sql("second").build());
+        slowQueryLog.record(SlowQueryDTO.builder().sql("third").build());
+
+        List<SlowQueryDTO> recent = slowQueryLog.recent();
+        Assertions.assertEquals(
+                List.of("third", "second"),
+                recent.stream().map(SlowQueryDTO::getSql).toList());
+    }
+
+    @Test
+    public void test_clear() {
+        SlowQueryLog slowQueryLog = new SlowQueryLog(2);
+        slowQueryLog.record(SlowQueryDTO.builder().sql("first").build());
+
+        slowQueryLog.clear();
+
+        Assertions.assertTrue(slowQueryLog.recent().isEmpty());
+    }
+}